@@ -0,0 +1,27 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the fixed, seeded puzzle sets shared by the benchmarks*/
+package eightpuzzle;
+import java.util.Random;
+public final class BenchmarkInstances {
+	public static final int SET_SIZE = 64;
+
+	private BenchmarkInstances(){
+	}
+
+	// Returns SET_SIZE scrambled boards whose optimal solution is exactly the given number of moves.
+	// The same seed always produces the same set, so runs can be compared against a baseline
+	public static long[] withOptimalMoves(int optimalMoves){
+		Random moveGenerator = new Random(391L * 1000 + optimalMoves);
+		DistanceTable table = DistanceTable.getInstance();
+		long[] boards = new long[SET_SIZE];
+		int found = 0;
+		while(found < SET_SIZE){
+			long board = PackedBoard.scramble(PackedBoard.GOAL, 200, moveGenerator);
+			if(table.distance(board) == optimalMoves)
+				boards[found++] = board;
+		}
+		return boards;
+	}
+}
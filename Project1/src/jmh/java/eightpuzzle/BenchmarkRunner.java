@@ -0,0 +1,35 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class runs the benchmark suite: every benchmark in ns/op with the GC profiler for allocation rates,
+ * then the search benchmarks again in throughput mode for searches and expansions per second.
+ * Any JMH command line option, such as a benchmark name filter or -rf json, is passed through to both runs*/
+package eightpuzzle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception{
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		// latency and allocation rate of every benchmark
+		new Runner(new OptionsBuilder()
+				.parent(commandLine)
+				.mode(Mode.AverageTime)
+				.timeUnit(TimeUnit.NANOSECONDS)
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+
+		// searches and expansions per second
+		new Runner(new OptionsBuilder()
+				.parent(commandLine)
+				.exclude(OperationsBenchmark.class.getSimpleName())
+				.mode(Mode.Throughput)
+				.timeUnit(TimeUnit.SECONDS)
+				.build()).run();
+	}
+}
@@ -0,0 +1,75 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class benchmarks the per-node operations the searches are built from*/
+package eightpuzzle;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationsBenchmark {
+	@Param({"8", "16", "22"})
+	public int optimalMoves;
+
+	private long[] boards;
+	private StateNode[] nodes;
+	private int next = 0;
+	private InformedSearches searcher;
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		this.boards = BenchmarkInstances.withOptimalMoves(this.optimalMoves);
+		this.searcher = new InformedSearches("h2");
+		this.nodes = new StateNode[this.boards.length];
+		for(int i = 0; i < this.boards.length; i++){
+			this.nodes[i] = new StateNode(this.boards[i], InformedSearches.calculateH2(this.boards[i]), 0);
+		}
+	}
+
+	// cycles through the puzzle set so each call sees a different board
+	private int nextIndex(){
+		int index = this.next;
+		this.next = (this.next + 1) % this.boards.length;
+		return index;
+	}
+
+	@Benchmark
+	public ArrayList<StateNode> findChildren(){
+		return this.searcher.findChildren(this.nodes[this.nextIndex()]);
+	}
+
+	@Benchmark
+	public long stateNodeMove(){
+		return this.nodes[this.nextIndex()].move("up");
+	}
+
+	@Benchmark
+	public long packedBoardMove(){
+		return PackedBoard.move(this.boards[this.nextIndex()], PackedBoard.LEFT);
+	}
+
+	@Benchmark
+	public int calculateH1(){
+		return InformedSearches.calculateH1(this.boards[this.nextIndex()]);
+	}
+
+	@Benchmark
+	public int calculateH2(){
+		return InformedSearches.calculateH2(this.boards[this.nextIndex()]);
+	}
+
+	@Benchmark
+	public int calculateH4(){
+		return InformedSearches.calculateH4(this.boards[this.nextIndex()]);
+	}
+
+	@Benchmark
+	public int calculateH5(){
+		return InformedSearches.calculateH5(this.boards[this.nextIndex()]);
+	}
+}
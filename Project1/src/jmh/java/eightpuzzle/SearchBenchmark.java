@@ -0,0 +1,74 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class benchmarks complete searches on puzzle sets of graded difficulty.
+ * The expansions counter reports expansions per second in throughput mode*/
+package eightpuzzle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+	private static final int MAX_NODES = 1000000;
+
+	@Param({"8", "16", "22"})
+	public int optimalMoves;
+
+	private long[] boards;
+	private int nextBoard = 0;
+	private InformedSearches searcher;
+
+	// Counts the nodes each search explored
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Expansions {
+		public long expansions;
+
+		@Setup(Level.Iteration)
+		public void reset(){
+			this.expansions = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp(){
+		this.boards = BenchmarkInstances.withOptimalMoves(this.optimalMoves);
+		this.searcher = new InformedSearches("h2");
+		this.searcher.printToConsole = false;
+		this.searcher.setMaxNodes(MAX_NODES);
+	}
+
+	// cycles through the puzzle set so every search starts from a different board
+	private long nextBoard(){
+		long board = this.boards[this.nextBoard];
+		this.nextBoard = (this.nextBoard + 1) % this.boards.length;
+		return board;
+	}
+
+	@Benchmark
+	public int aStarH1(Expansions counter){
+		this.searcher.setHeuristic("h1");
+		this.searcher.aStarSearch(this.nextBoard());
+		counter.expansions += this.searcher.getNodesExplored();
+		return this.searcher.pathLength;
+	}
+
+	@Benchmark
+	public int aStarH2(Expansions counter){
+		this.searcher.setHeuristic("h2");
+		this.searcher.aStarSearch(this.nextBoard());
+		counter.expansions += this.searcher.getNodesExplored();
+		return this.searcher.pathLength;
+	}
+
+	@Benchmark
+	public int localBeamSearch(Expansions counter){
+		this.searcher.localBeamSearch(50, this.nextBoard());
+		counter.expansions += this.searcher.getNodesExplored();
+		return this.searcher.pathLength;
+	}
+}
@@ -0,0 +1,196 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a batch of puzzles read from a file and solved on every core.
+ * Each worker thread has its own InformedSearches, and results are written in input order*/
+package eightpuzzle;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+public class BatchSolver {
+	private String[] algorithm;
+	private int maxNodes;
+	private int threads;
+	private ThreadLocal<InformedSearches> searchers;
+
+	// 2-arg constructor to solve with the given search on one worker per core
+	public BatchSolver(String[] algorithm, int maxNodes){
+		this(algorithm, maxNodes, Runtime.getRuntime().availableProcessors());
+	}
+
+	// 3-arg constructor to initialize the BatchSolver with a fixed number of workers
+	public BatchSolver(String[] algorithm, int maxNodes, int threads){
+		// every worker would start its own search threads, more than one per core in all
+		if(InformedSearches.isParallel(algorithm))
+			throw new IllegalArgumentException("Batches already run one search per core, so '" + algorithm[0] + "' search, which starts threads of its own, cannot be used");
+		this.algorithm = algorithm;
+		this.maxNodes = maxNodes;
+		this.threads = threads;
+		this.searchers = ThreadLocal.withInitial(() -> {
+			InformedSearches searcher = new InformedSearches("");
+			searcher.printToConsole = false;
+			searcher.setMaxNodes(this.maxNodes);
+			return searcher;
+		});
+	}
+
+	/** This method streams puzzles from the input file and writes one result line per puzzle to the output file.
+	 * Each line holds the puzzle, then its solution length (or -1), moves, nodes explored, and microseconds taken
+	 * @param input  file with one 'xxx xxx xxx' puzzle per line
+	 * @param output  file to write the results to
+	 * @return  number of puzzles solved*/
+	public int solveFile(File input, File output) throws IOException{
+		ExecutorService workers = Executors.newFixedThreadPool(this.threads);
+		// only keep a bounded number of puzzles in flight so large files are never held in memory
+		int window = this.threads * 256;
+		ArrayDeque<Future<String>> pending = new ArrayDeque<Future<String>>(window);
+		int total = 0;
+		int solvedCount = 0;
+		long startTime = System.nanoTime();
+
+		try(BufferedReader in = new BufferedReader(new FileReader(input));
+				BufferedWriter out = new BufferedWriter(new FileWriter(output))){
+			String line;
+			while((line = in.readLine()) != null){
+				if(line.trim().isEmpty())
+					continue;
+				final String puzzle = line.trim().toLowerCase();
+				pending.add(workers.submit(() -> this.solve(puzzle)));
+				total++;
+				if(pending.size() >= window)
+					solvedCount += writeResult(pending.poll(), out);
+			}
+			while(!pending.isEmpty()){
+				solvedCount += writeResult(pending.poll(), out);
+			}
+		}
+		finally{
+			workers.shutdownNow();
+		}
+
+		System.out.println("Solved " + solvedCount + " of " + total + " puzzles in " + (System.nanoTime() - startTime) / 1000000 + " ms " +
+				"on " + this.threads + " threads. Results written to " + output.getPath() + "\n");
+		return solvedCount;
+	}
+
+	/** This method solves a binary corpus, each worker reading its chunk of boards from the mapped corpus and writing
+	 * its result records straight into the mapped result file, so no record is parsed or formatted as text.
+	 * Result records hold at most 32 moves, so only searches that always find an optimal path can be used
+	 * @param input  corpus in the PuzzleCorpus format
+	 * @param output  result file to write, one result record per corpus record
+	 * @return  number of puzzles solved*/
+	public long solveCorpus(Path input, Path output) throws IOException{
+		if(!InformedSearches.isOptimal(this.algorithm))
+			throw new IllegalArgumentException("Corpus results only hold optimal paths, which '" + this.algorithm[0] + "' search does not always find");
+		ExecutorService workers = Executors.newFixedThreadPool(this.threads);
+		long solvedCount = 0;
+		long startTime = System.nanoTime();
+		long total;
+
+		try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.READ, StandardOpenOption.WRITE)){
+			total = PuzzleCorpus.readHeader(in, PuzzleCorpus.MAGIC, PuzzleCorpus.RECORD_SIZE);
+			PuzzleCorpus.writeHeader(out, PuzzleCorpus.RESULT_MAGIC, PuzzleCorpus.RESULT_SIZE, total);
+			// only keep the tasks of two chunks in flight, so just their mappings are held however large the corpus is
+			int window = 2 * this.threads;
+			ArrayDeque<Future<Integer>> pending = new ArrayDeque<Future<Integer>>(window);
+			for(long first = 0; first < total; first += PuzzleCorpus.CHUNK_RECORDS){
+				int records = (int)Math.min(PuzzleCorpus.CHUNK_RECORDS, total - first);
+				MappedByteBuffer boards = PuzzleCorpus.map(in, FileChannel.MapMode.READ_ONLY, first, records, PuzzleCorpus.RECORD_SIZE);
+				MappedByteBuffer results = PuzzleCorpus.map(out, FileChannel.MapMode.READ_WRITE, first, records, PuzzleCorpus.RESULT_SIZE);
+				// split each chunk between the workers, every task touching its own records with absolute gets and puts
+				int step = (records + this.threads - 1) / this.threads;
+				for(int from = 0; from < records; from += step){
+					final int start = from;
+					final int end = Math.min(records, from + step);
+					pending.add(workers.submit(() -> this.solveRecords(boards, results, start, end)));
+					if(pending.size() >= window)
+						solvedCount += pending.poll().get();
+				}
+			}
+			while(!pending.isEmpty()){
+				solvedCount += pending.poll().get();
+			}
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Corpus was interrupted");
+		}
+		catch(ExecutionException e){
+			throw new IOException("Corpus worker failed: " + e.getCause(), e.getCause());
+		}
+		finally{
+			workers.shutdownNow();
+		}
+
+		System.out.println("Solved " + solvedCount + " of " + total + " puzzles in " + (System.nanoTime() - startTime) / 1000000 + " ms " +
+				"on " + this.threads + " threads. Results written to " + output + "\n");
+		return solvedCount;
+	}
+
+	// Solves records [from, to) of a mapped chunk on the calling worker's searcher, returning how many were solved
+	private int solveRecords(MappedByteBuffer boards, MappedByteBuffer results, int from, int to){
+		InformedSearches searcher = this.searchers.get();
+		int solvedCount = 0;
+		for(int i = from; i < to; i++){
+			long board = boards.getLong(i * PuzzleCorpus.RECORD_SIZE);
+			int offset = i * PuzzleCorpus.RESULT_SIZE;
+			if(!PuzzleCorpus.isValid(board) || !PackedBoard.isSolvable(board)){
+				results.putLong(offset, 0);
+				results.putInt(offset + 8, 0);
+				results.putShort(offset + 12, PuzzleCorpus.INVALID);
+				continue;
+			}
+			boolean solved = searcher.search(this.algorithm, board);
+			results.putLong(offset, solved ? PuzzleCorpus.packMoves(searcher.getSolutionMoves()) : 0);
+			results.putInt(offset + 8, searcher.getNodesExplored());
+			results.putShort(offset + 12, solved ? (short)searcher.pathLength : PuzzleCorpus.UNSOLVED);
+			if(solved)
+				solvedCount++;
+		}
+		return solvedCount;
+	}
+
+	// Solves one puzzle on the calling worker's searcher and formats its result line
+	private String solve(String puzzle){
+		return solveLine(this.searchers.get(), this.algorithm, puzzle);
+	}
+
+	// Solves one puzzle with the given searcher and formats its result line, shared with the solver server
+	static String solveLine(InformedSearches searcher, String[] algorithm, String puzzle){
+		// workers report why a puzzle is invalid in its result line, since console output from many threads would interleave
+		String state = puzzle.replace(" ", "");
+		String error = StateNode.stateError(state);
+		if(error != null)
+			return puzzle + "\tinvalid: " + error;
+
+		long startTime = System.nanoTime();
+		boolean solved = searcher.search(algorithm, PackedBoard.fromString(state));
+		long micros = (System.nanoTime() - startTime) / 1000;
+		return puzzle + "\t" + (solved ? searcher.pathLength : -1) + "\t" + (solved ? searcher.getSolutionPath().trim() : "-") +
+				"\t" + searcher.getNodesExplored() + "\t" + micros;
+	}
+
+	// Waits for the next result in input order and writes it, returning 1 if the puzzle was solved
+	private static int writeResult(Future<String> result, BufferedWriter out) throws IOException{
+		String line;
+		try{
+			line = result.get();
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Batch was interrupted");
+		}
+		catch(ExecutionException e){
+			throw new IOException("Batch worker failed: " + e.getCause(), e.getCause());
+		}
+		out.write(line);
+		out.newLine();
+		String[] fields = line.split("\t");
+		return fields.length > 2 && !fields[1].equals("-1") ? 1 : 0;
+	}
+}
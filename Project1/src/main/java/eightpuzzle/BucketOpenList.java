@@ -0,0 +1,87 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents an open list of buckets indexed by total cost and then heuristic cost.
+ * Costs are small integers, so adding and polling are O(1) instead of O(log n) for a heap.
+ * Polling takes the lowest total cost, then the lowest heuristic cost (the deepest node), then the newest node*/
+package eightpuzzle;
+import java.util.Arrays;
+public class BucketOpenList implements OpenList {
+	private StateNode[][][] buckets = new StateNode[64][][];	// buckets[f][h] is a stack of nodes
+	private int[][] bucketSizes = new int[64][];
+	private int[] rowSizes = new int[64];						// number of nodes with each total cost
+	private int minTotalCost = Integer.MAX_VALUE;
+	private int size = 0;
+	
+	public boolean add(StateNode node){
+		int f = node.getTotalCost();
+		int h = node.getHeuristicCost();
+		if(f >= this.buckets.length){
+			int newLength = Math.max(f + 1, this.buckets.length * 2);
+			this.buckets = Arrays.copyOf(this.buckets, newLength);
+			this.bucketSizes = Arrays.copyOf(this.bucketSizes, newLength);
+			this.rowSizes = Arrays.copyOf(this.rowSizes, newLength);
+		}
+		if(this.buckets[f] == null || h >= this.buckets[f].length){
+			int newLength = Math.max(h + 1, f + 1);
+			this.buckets[f] = this.buckets[f] == null ? new StateNode[newLength][] : Arrays.copyOf(this.buckets[f], newLength);
+			this.bucketSizes[f] = this.bucketSizes[f] == null ? new int[newLength] : Arrays.copyOf(this.bucketSizes[f], newLength);
+		}
+		
+		StateNode[] bucket = this.buckets[f][h];
+		int count = this.bucketSizes[f][h];
+		if(bucket == null){
+			bucket = this.buckets[f][h] = new StateNode[16];
+		}
+		else if(count == bucket.length){
+			bucket = this.buckets[f][h] = Arrays.copyOf(bucket, count * 2);
+		}
+		bucket[count] = node;
+		this.bucketSizes[f][h] = count + 1;
+		this.rowSizes[f]++;
+		this.size++;
+		if(f < this.minTotalCost)
+			this.minTotalCost = f;
+		return true;
+	}
+	
+	public StateNode poll(){
+		if(this.size == 0)
+			return null;
+		while(this.rowSizes[this.minTotalCost] == 0){
+			this.minTotalCost++;
+		}
+		int f = this.minTotalCost;
+		int[] sizes = this.bucketSizes[f];
+		int h = 0;
+		while(sizes[h] == 0){
+			h++;
+		}
+		int count = --sizes[h];
+		StateNode node = this.buckets[f][h][count];
+		this.buckets[f][h][count] = null;
+		this.rowSizes[f]--;
+		this.size--;
+		return node;
+	}
+	
+	public void clear(){
+		for(int f = 0; f < this.buckets.length; f++){
+			if(this.rowSizes[f] == 0)
+				continue;
+			for(int h = 0; h < this.buckets[f].length; h++){
+				if(this.bucketSizes[f][h] > 0){
+					Arrays.fill(this.buckets[f][h], 0, this.bucketSizes[f][h], null);
+					this.bucketSizes[f][h] = 0;
+				}
+			}
+			this.rowSizes[f] = 0;
+		}
+		this.minTotalCost = Integer.MAX_VALUE;
+		this.size = 0;
+	}
+	
+	public int size(){
+		return this.size;
+	}
+}
@@ -0,0 +1,55 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the set of already visited puzzle states as a bitset indexed by permutation rank*/
+package eightpuzzle;
+import java.util.Arrays;
+public class ClosedSet {
+	private long[] bits;
+	private int size = 0;
+	
+	// 0-arg constructor to allocate one bit for every reachable state
+	public ClosedSet(){
+		this.bits = new long[(PackedBoard.REACHABLE_STATES + 63) / 64];
+	}
+	
+	// Adds the board to the set, returning false if it was already there
+	public boolean add(long board){
+		int rank = PackedBoard.rank(board);
+		long mask = 1L << rank;
+		if((this.bits[rank >>> 6] & mask) != 0)
+			return false;
+		this.bits[rank >>> 6] |= mask;
+		this.size++;
+		return true;
+	}
+	
+	// Removes the board from the set, returning false if it was not there
+	public boolean remove(long board){
+		int rank = PackedBoard.rank(board);
+		long mask = 1L << rank;
+		if((this.bits[rank >>> 6] & mask) == 0)
+			return false;
+		this.bits[rank >>> 6] &= ~mask;
+		this.size--;
+		return true;
+	}
+	
+	// Returns whether the board has already been added
+	public boolean contains(long board){
+		int rank = PackedBoard.rank(board);
+		return (this.bits[rank >>> 6] & (1L << rank)) != 0;
+	}
+	
+	// Removes every board from the set
+	public void clear(){
+		if(this.size > 0){
+			Arrays.fill(this.bits, 0L);
+			this.size = 0;
+		}
+	}
+	
+	public int size(){
+		return this.size;
+	}
+}
@@ -0,0 +1,115 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a complete table of optimal solutions for every solvable 8-puzzle state.
+ * Each state gets one byte at its permutation rank: the low 5 bits are its distance from the goal and the
+ * next 2 bits are the move that brings it one step closer. The table is built once by a backward breadth first
+ * search from the goal, written to a binary file and memory mapped on later runs*/
+package eightpuzzle;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+public class DistanceTable {
+	public static final String DEFAULT_FILE = "distance-table-8.bin";
+	private static final int MAGIC = 0x44495338;		// "DIS8"
+	private static final int HEADER_SIZE = 8;
+	private static final int DISTANCE_MASK = 0x1F;
+	private static final int MOVE_SHIFT = 5;
+
+	private MappedByteBuffer table;
+
+	// Lazily loads the shared table the first time it is used
+	private static class Holder {
+		static final DistanceTable INSTANCE = new DistanceTable(Paths.get(System.getProperty("puzzle.distances", DEFAULT_FILE)));
+	}
+
+	public static DistanceTable getInstance(){
+		return Holder.INSTANCE;
+	}
+
+	// 1-arg constructor to map the table file, generating it first if it does not exist yet
+	public DistanceTable(Path file){
+		try{
+			if(!Files.exists(file)){
+				writeTable(file, generateTable());
+			}
+			try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+				this.table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			if(this.table.capacity() != HEADER_SIZE + PackedBoard.REACHABLE_STATES || this.table.getInt(0) != MAGIC){
+				throw new IOException("Distance table file " + file + " is corrupt, delete it to rebuild it");
+			}
+		}
+		catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Returns the optimal number of moves from a solvable board to the goal
+	public int distance(long puzzle){
+		return this.table.get(HEADER_SIZE + PackedBoard.rank(puzzle)) & DISTANCE_MASK;
+	}
+
+	// Returns the first move of an optimal solution from a solvable board that is not the goal
+	public int bestMove(long puzzle){
+		return (this.table.get(HEADER_SIZE + PackedBoard.rank(puzzle)) >>> MOVE_SHIFT) & 0x3;
+	}
+
+	// Follows the best moves from a solvable board to the goal
+	public byte[] solve(long puzzle){
+		byte[] moves = new byte[this.distance(puzzle)];
+		for(int i = 0; i < moves.length; i++){
+			moves[i] = (byte)this.bestMove(puzzle);
+			puzzle = PackedBoard.move(puzzle, moves[i]);
+		}
+		return moves;
+	}
+
+	// Runs a breadth first search from the goal over every solvable state.
+	// A state first reached by a move from its parent is solved by the inverse of that move
+	private static byte[] generateTable(){
+		byte[] table = new byte[PackedBoard.REACHABLE_STATES];
+		boolean[] reached = new boolean[PackedBoard.REACHABLE_STATES];
+		long[] queue = new long[PackedBoard.REACHABLE_STATES];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = PackedBoard.GOAL;
+		reached[PackedBoard.rank(PackedBoard.GOAL)] = true;
+
+		while(head < tail){
+			long parent = queue[head++];
+			int distance = (table[PackedBoard.rank(parent)] & DISTANCE_MASK) + 1;
+			for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+				long child = PackedBoard.move(parent, move);
+				if(child == PackedBoard.INVALID)
+					continue;
+				int rank = PackedBoard.rank(child);
+				if(!reached[rank]){
+					reached[rank] = true;
+					table[rank] = (byte)((PackedBoard.inverse(move) << MOVE_SHIFT) | distance);
+					queue[tail++] = child;
+				}
+			}
+		}
+		return table;
+	}
+
+	// Writes the header and table to the file
+	private static void writeTable(Path file, byte[] table) throws IOException{
+		// each writer gets its own temp file, so processes generating at once never write into the same one
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+		try{
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))){
+				out.writeInt(MAGIC);
+				out.writeInt(PackedBoard.REACHABLE_STATES);
+				out.write(table);
+			}
+			// move into place in one step so another process never maps a half written file
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally{
+			Files.deleteIfExists(temp);
+		}
+	}
+}
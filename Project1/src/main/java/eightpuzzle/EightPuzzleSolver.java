@@ -0,0 +1,544 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents an Eight Puzzle application */
+package eightpuzzle;
+import java.util.*;
+import java.io.*;
+import java.nio.file.Paths;
+public class EightPuzzleSolver {
+	
+	static StateNode currentState = new StateNode(PackedBoard.GOAL, 0,0);
+	static Random moveGenerator = new Random(1111);
+	static 	InformedSearches searcher = new InformedSearches("");
+	// geometry and packed state of the current board when setSize picks a size other than 3, null for the 8-puzzle
+	static SlidingBoard largeBoard = null;
+	static long[] largeState;
+	static SolverServer server = null;
+
+
+	// this main method either reads from a file or from console input
+	public static void main(String[] args){
+		String userChoice = "";
+		Scanner keyboard = new Scanner(System.in);
+		
+		// -jmx publishes the search totals from the start, for a console watched by a JMX client
+		if(args.length > 0 && args[0].equalsIgnoreCase("-jmx")){
+			SearchStats.publish();
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+		
+		if(args.length == 0){
+			printCommands();
+			do{
+				System.out.println("Please enter a command:");
+				userChoice = keyboard.nextLine();
+				evaluateInput(userChoice);
+			}while(!userChoice.equalsIgnoreCase("exit"));
+			
+			keyboard.close();
+			System.exit(0);
+			
+		}
+		// attempts to read the file and follow commands in it
+		else if(args.length == 1){
+			String path = args[0];
+			File file = new File(path);
+			try{
+				BufferedReader br = new BufferedReader(new FileReader(file));
+				System.out.println("File has successfully been opened.\n" +
+						"Reading file...");
+
+				String line;
+				while ((line = br.readLine()) != null){
+					evaluateInput(line);
+				}
+				br.close();
+			}
+			catch(IOException notFound){
+				System.out.println(notFound.getMessage());
+			}
+		}			
+	}
+	
+	// This method prints a intro paragraph to users in console
+	public static void printCommands(){
+		System.out.println("Welcome to Austin Feydt's 8-Puzzle Solver!\n" + 
+				"Available commands:\n" +
+				"setSize <n> : switches to an n x n puzzle from 2 to 5 (3 is the 8-puzzle), starting from its goal state\n" +
+				"setState <state> : sets the puzzle state using input, one value per cell like 'b 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15' on larger boards\n" +
+				"randomizeState n : makes n random moves from goal state, and overwrite previous state to this random state\n"+
+				"printState : prints the current puzzle state\n" +
+				"move <direction> : moves the blank tile 'up', 'down', 'left', or 'right\n" +
+				"solve A-star <heuristic> : solves the puzzle from current state using A-star using heuristic 'h1' to 'h5'\n\t" +
+				"h1 = # of misplaced tiles\n\t" +
+				"h2 = Manhattan distance\n\t" +
+				"h3 = additive pattern database (built into " + PatternDatabase.DEFAULT_FILE + " on first use)\n\t" +
+				"h4 = Manhattan distance plus linear conflicts\n\t" +
+				"h5 = walking distance\n" +
+				"solve ida <heuristic> : solves the puzzle from current state using iterative deepening A-star with heuristic 'h1' to 'h5' ('h2' only on other sizes)\n" +
+				"solve anytime <heuristic> <ms> : finds a weighted A-star solution fast, then improves it until it is proven optimal or <ms> milliseconds pass\n" +
+				"solve sma <kb> : solves the puzzle from current state optimally with memory-bounded A-star using 'h2', pruning its worst leaves to keep the search tree within <kb> kilobytes (any size)\n" +
+				"solve hda <threads> : solves the puzzle from current state optimally with A-star using 'h2' on <threads> threads (at most one per core), each owning a share of the states (up to 4x4)\n" +
+				"solve external : solves the puzzle from current state optimally with a breadth first search that keeps its layers in files under the temporary directory (up to 4x4)\n" +
+				"solve : solves the puzzle from current state instantly, the same as 'solve table'\n" +
+				"solve table : solves the puzzle from current state instantly using the precomputed table of optimal moves (built into " + DistanceTable.DEFAULT_FILE + " on first use)\n" +
+				"solve bidirectional : solves the puzzle from current state optimally with a breadth first search from both the current state and the goal\n" +
+				"solve beam <k> : uses h2 : solves the puzzle from current state using local beam search w/ 'k' states using heuristic 'h2'\n" +
+				"solveBatch <file> <search> : solves every 'xxx xxx xxx' puzzle in the file on all cores with 'a-star <h>', 'ida <h>', 'anytime <h> <ms>', 'sma <kb>', 'beam <k>', 'bidirectional', 'external' or 'table', writing results to <file>.out\n" +
+				"writeCorpus <file> <count> <moves> : writes <count> states made by <moves> random moves from goal to a binary corpus file\n" +
+				"solveCorpus <file> <search> : solves every state in a binary corpus on all cores with an optimal search (not beam, anytime or hda), writing binary result records to <file>.out\n" +
+				"maxNodes <n> : specifies the max number of nodes to be considered during search\n" +
+				"openList <type> : chooses the open list used by the searches, 'bucket' (default), 'heap' or 'indexed' (one entry per state, with decrease-key)\n" +
+				"countDistances : counts the states at every distance from the goal of the current size with the disk-backed breadth first search (up to 4x4)\n" +
+				"heuristictest : tests every heuristic calculation on the current state\n" +
+				"cache <entries> : caches the optimal paths found by searches, keeping up to <entries> states (0 turns the cache off, which is the default)\n" +
+				"stats : prints the counters of the last search and the totals of every search (also published through JMX as " + SearchStats.OBJECT_NAME + " once a server, batch or experiment starts, or when started with -jmx)\n" +
+				"startServer <port> [threads] [queue] : serves solves over HTTP on localhost (GET /solve?puzzle=b12+345+678&search=a-star+h2, or POST one puzzle per line), " +
+				"answering 'busy' once [queue] requests are waiting\n" +
+				"stopServer : stops the solver server\n" +
+				"runexperiments [threads] : runs the experiment section of the writeup on all cores (or the given number of threads), writing experiments.csv\n" +
+				"exit : exits the program");
+	}
+	
+	// This method tries to determine what command user is trying to use
+	public static void evaluateInput(String userChoice){
+		// File paths keep their case, everything else is case insensitive
+		String[] rawTokens = userChoice.split(" ");
+		userChoice = userChoice.toLowerCase();
+		// Split the input string by spaces
+		String[] tokens = userChoice.split(" ");
+		int tokenLength = tokens.length;
+		
+		// look at the first token 
+		// 1 case per user command available
+		// boards other than 3x3 have their own handling of the board commands
+		if(largeBoard != null && evaluateLargeBoardInput(tokens))
+			return;
+		
+		switch(tokens[0]){
+			case "setsize":{
+				int size = 0;
+				try{
+					if(tokenLength == 2)
+						size = Integer.parseInt(tokens[1]);
+				}
+				catch(NumberFormatException e){
+					// falls through to the message below with size 0
+				}
+				if(size == PackedBoard.SIZE)
+					largeBoard = null;
+				else if(SlidingBoard.ofSize(size) != null){
+					largeBoard = SlidingBoard.ofSize(size);
+					largeState = largeBoard.pack(largeBoard.goal());
+				}
+				else
+					System.out.println("Invalid input: Please choose a size from " + SlidingBoard.MIN_SIZE + " to " + SlidingBoard.MAX_SIZE + "\n");
+				break;
+			}
+			
+			case "setstate":{
+				if(tokenLength == 4)
+					currentState.setState(tokens[1] + tokens[2] + tokens[3]);
+				else
+					System.out.println("Invalid input: State should have format: 'xxx xxx xxx'\n");
+				break;
+			}
+			
+			case "randomizestate":{
+				try{
+					if(tokenLength == 2 && Integer.parseInt(tokens[1]) >= 0){
+						randomizeState(Integer.parseInt(tokens[1]));
+						break;
+					}
+				}
+				catch(NumberFormatException e){
+					// fall through to the message below
+				}
+				System.out.println("Invalid input: Please enter the number of moves you'd like to randomly make!\n");
+				break;
+			}
+			
+			case "printstate":{
+				currentState.printState();
+				break;
+			}
+			
+			case "move":{
+				if(tokenLength == 2){
+					long movedPuzzle = currentState.move(tokens[1]);
+					if(movedPuzzle == PackedBoard.INVALID)
+						System.out.println("Invalid input: Tile could not be moved that direction.\n");
+					else
+						currentState.setState(movedPuzzle);
+				}
+				else
+					System.out.println("Invalid input: Specify what direction you'd like to move tile.\n");
+				break;
+			}
+			
+			case "solve":{
+				boolean solved = false;
+				// with no search named, the optimal solution is looked up in the distance table without any search
+				String[] algorithm = tokenLength == 1 ? new String[]{"table"} : Arrays.copyOfRange(tokens, 1, tokenLength);
+				if(InformedSearches.validateAlgorithm(algorithm))
+					solved = searcher.search(algorithm, currentState.getState());
+				if (solved){
+					randomizeState(0);
+				}
+				break;
+			}
+			
+			case "solvebatch":{
+				if(tokenLength >= 3){
+					String[] algorithm = Arrays.copyOfRange(tokens, 2, tokenLength);
+					if(!InformedSearches.validateAlgorithm(algorithm))
+						break;
+					if(InformedSearches.isParallel(algorithm)){
+						System.out.println("Invalid input: batches already run one search per core, so 'hda' cannot be used\n");
+						break;
+					}
+					SearchStats.publish();
+					BatchSolver batch = new BatchSolver(algorithm, searcher.getMaxNodes());
+					try{
+						batch.solveFile(new File(rawTokens[1]), new File(rawTokens[1] + ".out"));
+					}
+					catch(IOException e){
+						System.out.println(e.getMessage());
+					}
+				}
+				else
+					System.out.println("Invalid input: Please enter a puzzle file and a search, like 'solvebatch puzzles.txt a-star h2'\n");
+				break;
+			}
+			
+			case "writecorpus":{
+				long count = -1;
+				int moves = -1;
+				try{
+					if(tokenLength == 4){
+						count = Long.parseLong(tokens[2]);
+						moves = Integer.parseInt(tokens[3]);
+					}
+				}
+				catch(NumberFormatException e){
+					// fall through to the message below
+				}
+				if(count < 0 || moves < 0){
+					System.out.println("Invalid input: Please enter a corpus file, a number of states and a number of moves, like 'writecorpus puzzles.bin 1000000 200'\n");
+					break;
+				}
+				try{
+					PuzzleCorpus.writeRandom(Paths.get(rawTokens[1]), count, moves, moveGenerator);
+					System.out.println("Wrote " + count + " states to " + rawTokens[1] + "\n");
+				}
+				catch(IOException e){
+					System.out.println(e.getMessage());
+				}
+				break;
+			}
+			
+			case "solvecorpus":{
+				if(tokenLength >= 3){
+					String[] algorithm = Arrays.copyOfRange(tokens, 2, tokenLength);
+					if(!InformedSearches.validateAlgorithm(algorithm))
+						break;
+					if(!InformedSearches.isOptimal(algorithm)){
+						System.out.println("Invalid input: corpus results only hold optimal paths, so 'beam' and 'anytime' cannot be used\n");
+						break;
+					}
+					if(InformedSearches.isParallel(algorithm)){
+						System.out.println("Invalid input: batches already run one search per core, so 'hda' cannot be used\n");
+						break;
+					}
+					SearchStats.publish();
+					BatchSolver batch = new BatchSolver(algorithm, searcher.getMaxNodes());
+					try{
+						batch.solveCorpus(Paths.get(rawTokens[1]), Paths.get(rawTokens[1] + ".out"));
+					}
+					catch(IOException e){
+						System.out.println(e.getMessage());
+					}
+				}
+				else
+					System.out.println("Invalid input: Please enter a corpus file and a search, like 'solvecorpus puzzles.bin a-star h2'\n");
+				break;
+			}
+			
+			case "maxnodes":{
+				try{
+					if(tokenLength == 2 && Integer.parseInt(tokens[1]) > 0){
+						searcher.setMaxNodes(Integer.parseInt(tokens[1]));
+						break;
+					}
+				}
+				catch(NumberFormatException e){
+					// fall through to the message below
+				}
+				System.out.println("Invalid input: Please choose a positive integer for the max number of nodes\n");
+				break;
+			}
+			
+			case "openlist":{
+				if (tokenLength != 2 || !searcher.setOpenList(tokens[1]))
+					System.out.println("Invalid input: Please choose 'bucket', 'heap' or 'indexed' for the open list\n");
+				break;
+			}
+			
+			case "heuristictest":{
+				System.out.println("Testing heuristic costs:");
+				System.out.println("H1 (misplaced tiles):" + InformedSearches.calculateH1(currentState.getState()));
+				System.out.println("H2 (Manhattan distance):" + InformedSearches.calculateH2(currentState.getState()));
+				System.out.println("H3 (pattern database):" + InformedSearches.calculateH3(currentState.getState()));
+				System.out.println("H4 (linear conflict):" + InformedSearches.calculateH4(currentState.getState()));
+				System.out.println("H5 (walking distance):" + InformedSearches.calculateH5(currentState.getState()) + "\n");
+				break;
+			}
+			
+			case "cache":{
+				try{
+					if(tokenLength == 2 && Integer.parseInt(tokens[1]) >= 0){
+						SolutionCache.getInstance().setCapacity(Integer.parseInt(tokens[1]));
+						break;
+					}
+				}
+				catch(NumberFormatException e){
+					// fall through to the message below
+				}
+				System.out.println("Invalid input: Please choose how many states to cache, or 0 to turn the cache off\n");
+				break;
+			}
+			
+			case "stats":{
+				printStats();
+				break;
+			}
+			
+			case "startserver":{
+				if(server != null)
+					System.out.println("Invalid input: The server is already running on port " + server.getPort() + "\n");
+				else if(tokenLength >= 2 && tokenLength <= 4){
+					int port, threads, queue;
+					try{
+						port = Integer.parseInt(tokens[1]);
+						threads = tokenLength >= 3 ? Integer.parseInt(tokens[2]) : Runtime.getRuntime().availableProcessors();
+						queue = tokenLength == 4 ? Integer.parseInt(tokens[3]) : threads * 16;
+					}
+					catch(NumberFormatException e){
+						port = threads = queue = -1;
+					}
+					if(port < 0 || port > 65535 || threads <= 0 || queue <= 0){
+						System.out.println("Invalid input: Please enter a port and optionally positive thread and queue counts, like 'startserver 8080 4 64'\n");
+						break;
+					}
+					// the server keeps the console's node limit unless a request sets its own
+					SolverServer started = new SolverServer(port, threads, queue, searcher.getMaxNodes());
+					try{
+						SearchStats.publish();
+						started.start();
+						server = started;
+					}
+					catch(IOException e){
+						System.out.println(e.getMessage());
+					}
+				}
+				else
+					System.out.println("Invalid input: Please enter a port, like 'startserver 8080'\n");
+				break;
+			}
+			
+			case "stopserver":{
+				if(server != null){
+					server.stop();
+					server = null;
+				}
+				else
+					System.out.println("Invalid input: The server is not running\n");
+				break;
+			}
+			
+			case "countdistances":{
+				SlidingBoard geometry = largeBoard != null ? largeBoard : SlidingBoard.ofSize(PackedBoard.SIZE);
+				if(geometry.getKeyLength() != 1){
+					System.out.println("Invalid input: countDistances supports boards up to 4x4\n");
+					break;
+				}
+				try{
+					long[] distances = new ExternalSearch(geometry, Paths.get(System.getProperty("java.io.tmpdir")), ExternalSearch.DEFAULT_RUN_RECORDS, Long.MAX_VALUE).countDistances();
+					long total = 0;
+					for(int distance = 0; distance < distances.length; distance++){
+						System.out.println("Distance " + distance + ": " + distances[distance] + " states");
+						total += distances[distance];
+					}
+					System.out.println("Reachable states: " + total + "\n");
+				}
+				catch(IOException e){
+					System.out.println(e.getMessage());
+				}
+				break;
+			}
+			
+			case "runexperiments":{
+				int threads = Runtime.getRuntime().availableProcessors();
+				try{
+					if(tokenLength == 2)
+						threads = Integer.parseInt(tokens[1]);
+				}
+				catch(NumberFormatException e){
+					threads = 0;
+				}
+				if(threads <= 0){
+					System.out.println("Invalid input: Please choose a positive number of threads, or none to use every core\n");
+					break;
+				}
+				SearchStats.publish();
+				try{
+					new ExperimentRunner(threads).run(new File("experiments.csv"));
+				}
+				catch(IOException e){
+					System.out.println(e.getMessage());
+				}
+				break;
+			}
+			case "exit":{
+				System.exit(0);
+				break;
+			}
+			
+			default:{
+				System.out.println("Invalid input: Unrecognized command\n");
+				break;
+			}
+		}
+		
+	}
+		
+	// Runs the board commands on the current board when it is not 3x3, returning whether the command was handled
+	private static boolean evaluateLargeBoardInput(String[] tokens){
+		int tokenLength = tokens.length;
+		switch(tokens[0]){
+			case "setstate":{
+				byte[] tiles = largeBoard.parse(Arrays.copyOfRange(tokens, 1, tokenLength));
+				if(tiles != null && !largeBoard.isSolvable(tiles))
+					System.out.println("Invalid input: This state cannot reach the goal state!\n");
+				else if(tiles != null)
+					largeState = largeBoard.pack(tiles);
+				return true;
+			}
+			
+			case "randomizestate":{
+				try{
+					if(tokenLength == 2 && Integer.parseInt(tokens[1]) >= 0){
+						byte[] tiles = largeBoard.goal();
+						largeBoard.scramble(tiles, Integer.parseInt(tokens[1]), moveGenerator);
+						largeState = largeBoard.pack(tiles);
+						return true;
+					}
+				}
+				catch(NumberFormatException e){
+					// fall through to the message below
+				}
+				System.out.println("Invalid input: Please enter the number of moves you'd like to randomly make!\n");
+				return true;
+			}
+			
+			case "printstate":{
+				largeBoard.print(largeBoard.unpack(largeState));
+				return true;
+			}
+			
+			case "move":{
+				byte[] tiles = largeBoard.unpack(largeState);
+				if(tokenLength != 2)
+					System.out.println("Invalid input: Specify what direction you'd like to move tile.\n");
+				else if(PackedBoard.moveCode(tokens[1]) < 0 || !largeBoard.move(tiles, PackedBoard.moveCode(tokens[1])))
+					System.out.println("Invalid input: Tile could not be moved that direction.\n");
+				else
+					largeState = largeBoard.pack(tiles);
+				return true;
+			}
+			
+			case "solve":{
+				if(tokenLength == 3 && tokens[1].equals("ida") && tokens[2].equals("h2")){
+					SlidingPuzzleSearch search = new SlidingPuzzleSearch(largeBoard, searcher.getMaxNodes());
+					if(search.idaStarSearch(largeState))
+						largeState = largeBoard.pack(largeBoard.goal());
+				}
+				else if(tokenLength == 3 && tokens[1].equals("sma")){
+					if(InformedSearches.validateAlgorithm(Arrays.copyOfRange(tokens, 1, 3))){
+						MemoryBoundedSearch search = new MemoryBoundedSearch(largeBoard, Long.parseLong(tokens[2]) * 1024, searcher.getMaxNodes());
+						if(search.search(largeState))
+							largeState = largeBoard.pack(largeBoard.goal());
+					}
+				}
+				else if(tokenLength == 3 && tokens[1].equals("hda")){
+					if(largeBoard.getKeyLength() != 1)
+						System.out.println("Invalid input: parallel A-star supports boards up to 4x4\n");
+					else if(InformedSearches.validateAlgorithm(Arrays.copyOfRange(tokens, 1, 3))){
+						ParallelAStarSearch search = new ParallelAStarSearch(largeBoard, Integer.parseInt(tokens[2]), searcher.getMaxNodes());
+						if(search.search(largeState))
+							largeState = largeBoard.pack(largeBoard.goal());
+					}
+				}
+				else if(tokenLength == 2 && tokens[1].equals("external")){
+					if(largeBoard.getKeyLength() != 1)
+						System.out.println("Invalid input: external search supports boards up to 4x4\n");
+					else{
+						ExternalSearch search = new ExternalSearch(largeBoard, Paths.get(System.getProperty("java.io.tmpdir")), ExternalSearch.DEFAULT_RUN_RECORDS, searcher.getMaxNodes());
+						try{
+							if(search.search(largeState))
+								largeState = largeBoard.pack(largeBoard.goal());
+						}
+						catch(IOException e){
+							System.out.println(e.getMessage());
+						}
+					}
+				}
+				else
+					System.out.println("Invalid input: only 'ida h2', 'sma <kb>', 'hda <threads>' and 'external' are supported on " + largeBoard.getSize() + "x" + largeBoard.getSize() + " boards\n");
+				return true;
+			}
+			
+			case "heuristictest":{
+				System.out.println("Testing heuristic costs:");
+				System.out.println("H2 (Manhattan distance):" + largeBoard.manhattan(largeBoard.unpack(largeState)) + "\n");
+				return true;
+			}
+			
+			default:{
+				return false;
+			}
+		}
+	}
+	
+	// Prints the counters of the console's last search and the totals of every search run so far
+	public static void printStats(){
+		SearchRecord last = searcher.getLastSearch();
+		if(last == null)
+			System.out.println("No searches have been run yet.");
+		else{
+			System.out.println("Last search: " + last.getAlgorithm() + (last.isSolved() ? ", solved in " + last.getPathLength() + " moves" : ", not solved"));
+			System.out.println("Nodes expanded: " + last.getNodesExpanded() + ", generated: " + last.getNodesGenerated() + ", duplicates: " + last.getDuplicates() +
+					String.format(" (%.1f%%)", 100 * last.getDuplicateRate()));
+			System.out.println("Peak open list: " + last.getPeakOpenSize() + ", peak closed set: " + last.getPeakClosedSize() +
+					String.format(", effective branching factor: %.3f", last.getEffectiveBranchingFactor()));
+			System.out.println(String.format("Wall time: %.3f ms (%.0f expansions/sec), allocated: %d bytes",
+					last.getWallTimeNanos() / 1e6, last.getExpansionsPerSecond(), last.getAllocatedBytes()));
+		}
+		SearchStats totals = SearchStats.getInstance();
+		System.out.println("All searches: " + totals.getSearches() + " run, " + totals.getSolvedSearches() + " solved, " +
+				totals.getNodesExpanded() + " expanded, " + totals.getNodesGenerated() + " generated, " + totals.getDuplicates() + " duplicates");
+		System.out.println(String.format("Peak open list: %d, peak closed set: %d, mean effective branching factor: %.3f",
+				totals.getPeakOpenSize(), totals.getPeakClosedSize(), totals.getEffectiveBranchingFactor()));
+		System.out.println(String.format("Wall time: %.3f ms (%.0f expansions/sec), allocated: %d bytes",
+				totals.getWallTimeNanos() / 1e6, totals.getExpansionsPerSecond(), totals.getAllocatedBytes()));
+		System.out.println("Solution cache: " + totals.getCacheSize() + " of " + SolutionCache.getInstance().getCapacity() + " states, " +
+				totals.getCacheHits() + " hits, " + totals.getCacheMisses() + " misses\n");
+	}
+	
+	// creates a random solvable state by making "moves" moves from goal state
+	public static void randomizeState (int moves){
+		// Tries to move a tile in one direction, and if its not possible, it moves it the other direction
+		currentState.setState(PackedBoard.scramble(PackedBoard.GOAL, moves, moveGenerator));
+	}
+}
@@ -0,0 +1,153 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the experiment section of the writeup: every search in the matrix of maxNodes,
+ * algorithm, heuristic and beam width is run on the same set of scrambled puzzles.
+ * Puzzle i is always scrambled from seed BASE_SEED + i and each result is stored by its index, so the report
+ * is the same at any thread count apart from the measured latencies*/
+package eightpuzzle;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+public class ExperimentRunner {
+	public static final long BASE_SEED = 1111;
+	public static final int INSTANCES = 500;
+	public static final int SCRAMBLE_MOVES = 200;
+	private static final int[] MAX_NODES = {500, 1000, 2000};
+	private static final String[][] ALGORITHMS = {
+			{"a-star", "h1"}, {"a-star", "h2"}, {"a-star", "h3"},
+			{"beam", "10"}, {"beam", "50"}, {"beam", "100"}};
+	// puzzles solved by one task before it stops splitting its range
+	private static final int LEAF_SIZE = 16;
+
+	private int threads;
+	private long[] puzzles;
+	private ArrayList<Cell> cells = new ArrayList<Cell>();
+	private ThreadLocal<InformedSearches> searchers = ThreadLocal.withInitial(() -> {
+		InformedSearches searcher = new InformedSearches("");
+		searcher.printToConsole = false;
+		// every run must search from scratch for the results to compare
+		searcher.setSolutionCache(null);
+		return searcher;
+	});
+
+	// This class represents one combination of settings and the results of every puzzle run with it
+	public static class Cell {
+		final int maxNodes;
+		final String[] algorithm;
+		final boolean[] solved = new boolean[INSTANCES];
+		final int[] pathLengths = new int[INSTANCES];
+		final int[] nodesExplored = new int[INSTANCES];
+		final long[] latencies = new long[INSTANCES];		// nanoseconds
+
+		Cell(int maxNodes, String[] algorithm){
+			this.maxNodes = maxNodes;
+			this.algorithm = algorithm;
+		}
+
+		// Returns one CSV line summarizing the cell
+		String toCsv(){
+			int solvedCount = 0;
+			long totalLength = 0;
+			long totalNodes = 0;
+			for(int i = 0; i < INSTANCES; i++){
+				totalNodes += this.nodesExplored[i];
+				if(this.solved[i]){
+					solvedCount++;
+					totalLength += this.pathLengths[i];
+				}
+			}
+			long[] sorted = this.latencies.clone();
+			Arrays.sort(sorted);
+			boolean beam = this.algorithm[0].equals("beam");
+			return this.maxNodes + "," + this.algorithm[0] + "," + (beam ? "h2" : this.algorithm[1]) + "," + (beam ? this.algorithm[1] : "") + "," +
+					INSTANCES + "," + solvedCount + "," + (double)solvedCount / INSTANCES + "," +
+					(solvedCount == 0 ? "" : String.valueOf((double)totalLength / solvedCount)) + "," + (double)totalNodes / INSTANCES + "," +
+					percentile(sorted, 50) + "," + percentile(sorted, 90) + "," + percentile(sorted, 99) + "," + sorted[sorted.length - 1] / 1000;
+		}
+
+		// Returns the nearest-rank percentile of sorted nanosecond latencies in microseconds
+		private static long percentile(long[] sorted, int percent){
+			int rank = (int)Math.ceil(percent / 100.0 * sorted.length);
+			return sorted[Math.max(rank - 1, 0)] / 1000;
+		}
+	}
+
+	// This class represents a range of (cell, puzzle) runs that splits in half until it is small enough to solve
+	private class RunRange extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+
+		RunRange(int from, int to){
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute(){
+			if(this.to - this.from <= LEAF_SIZE){
+				for(int run = this.from; run < this.to; run++){
+					solve(cells.get(run / INSTANCES), run % INSTANCES);
+				}
+			}
+			else{
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(new RunRange(this.from, middle), new RunRange(middle, this.to));
+			}
+		}
+	}
+
+	// 1-arg constructor to initialize the ExperimentRunner with the number of worker threads
+	public ExperimentRunner(int threads){
+		this.threads = threads;
+		this.puzzles = new long[INSTANCES];
+		for(int i = 0; i < INSTANCES; i++){
+			this.puzzles[i] = PackedBoard.scramble(PackedBoard.GOAL, SCRAMBLE_MOVES, new Random(BASE_SEED + i));
+		}
+		for(int maxNodes : MAX_NODES){
+			for(String[] algorithm : ALGORITHMS){
+				this.cells.add(new Cell(maxNodes, algorithm));
+			}
+		}
+	}
+
+	/** This method runs the whole matrix on a fork-join pool, then writes and prints the report
+	 * @param report  CSV file to write one line per cell to*/
+	public void run(File report) throws IOException{
+		System.out.println("Running " + this.cells.size() + " experiment cells on " + INSTANCES + " puzzles with " + this.threads + " threads (this will take a bit)");
+		long startTime = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(this.threads);
+		try{
+			pool.invoke(new RunRange(0, this.cells.size() * INSTANCES));
+		}
+		finally{
+			pool.shutdown();
+		}
+
+		String header = "maxNodes,algorithm,heuristic,beamK,instances,solved,fractionSolved,avgPathLength,avgNodesExplored,p50Micros,p90Micros,p99Micros,maxMicros";
+		try(PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(report)))){
+			out.println(header);
+			System.out.println(header);
+			for(Cell cell : this.cells){
+				String line = cell.toCsv();
+				out.println(line);
+				System.out.println(line);
+			}
+		}
+		System.out.println("Experiments finished in " + (System.nanoTime() - startTime) / 1000000 + " ms. Report written to " + report.getPath() + "\n");
+	}
+
+	// Solves one puzzle with one cell's settings on the calling thread's searcher
+	private void solve(Cell cell, int instance){
+		InformedSearches searcher = this.searchers.get();
+		searcher.setMaxNodes(cell.maxNodes);
+		long startTime = System.nanoTime();
+		boolean solved = searcher.search(cell.algorithm, this.puzzles[instance]);
+		cell.latencies[instance] = System.nanoTime() - startTime;
+		cell.solved[instance] = solved;
+		cell.pathLengths[instance] = searcher.pathLength;
+		cell.nodesExplored[instance] = searcher.getNodesExplored();
+	}
+}
@@ -0,0 +1,422 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a breadth first search that keeps its layers on disk instead of in a closed set, for boards
+ * with more states than fit in memory. Each layer is a file of sorted, distinct packed keys. The next layer is built by
+ * streaming the current one, buffering successors up to a run size, and writing each full buffer as a sorted run. The
+ * runs are then merged into the next layer, dropping duplicates and any state already in the layer before the current
+ * one (delayed duplicate detection). Every move flips the parity of the blank's cell, so successors never repeat the
+ * current layer, and that one earlier layer is the only one they can repeat. Only a bounded number of runs are merged at
+ * once, each holding a file and an I/O buffer open, so a layer with more runs is first merged a group at a time into longer
+ * runs. The layers are read and written
+ * sequentially through NIO channels, in a scratch directory made for each run and removed after it. A solution is traced
+ * back with binary searches of the kept layers.
+ * Only boards whose key fits in one long (up to 4x4) are supported*/
+package eightpuzzle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+public class ExternalSearch {
+	// states buffered before a run is sorted and written, 8 bytes each
+	public static final int DEFAULT_RUN_RECORDS = 1 << 20;
+	private static final int RECORD_SIZE = 8;
+	private static final int IO_BUFFER_SIZE = 1 << 16;
+	// runs merged at once, well below the usual limit of 1024 open files
+	private static final int MERGE_FAN_IN = 64;
+
+	private SlidingBoard geometry;
+	private Path workRoot;
+	private Path directory;
+	private int runRecords;
+	private long[] runBuffer = new long[0];		// successors waiting to be sorted into a run, reused across layers
+	private long maxNodes;
+	private long nodesExplored = 0;
+	private long largestLayer = 0;
+	private int pathLength = 0;
+	private byte[] solutionMoves = new byte[0];
+	public boolean printToConsole = true;
+
+	// 4-arg constructor to initialize the search for one board size, the directory its scratch directories go in, the run size and the node budget
+	public ExternalSearch(SlidingBoard geometry, Path workRoot, int runRecords, long maxNodes){
+		if(geometry.getKeyLength() != 1)
+			throw new IllegalArgumentException("External search only supports boards up to 4x4");
+		this.geometry = geometry;
+		this.workRoot = workRoot;
+		this.runRecords = runRecords;
+		this.maxNodes = maxNodes;
+	}
+
+	/** This method is a breadth first search from the initial state to the goal, with its layers on disk
+	 * @param initialKey  packed initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean search(long[] initialKey) throws IOException{
+		this.nodesExplored = 0;
+		this.largestLayer = 1;
+		this.pathLength = 0;
+		this.solutionMoves = new byte[0];
+		if(!this.geometry.isSolvable(this.geometry.unpack(initialKey))){
+			if(printToConsole)
+				System.out.println("No external BFS solution found: Invalid starting state\n");
+			return false;
+		}
+		long goal = this.geometry.pack(this.geometry.goal())[0];
+		// every layer is kept until the search ends, since the solution is traced back through them
+		List<Path> layers = new ArrayList<Path>();
+		this.directory = Files.createTempDirectory(this.workRoot, "bfs-");
+		try{
+			layers.add(this.writeLayer(0, initialKey[0]));
+			int depth = 0;
+			boolean found = initialKey[0] == goal;
+			while(!found){
+				long current = this.layerSize(layers.get(depth));
+				// Checks if the layers are exhausted or too many nodes would be expanded - exit early
+				if(current == 0 || this.nodesExplored + current > this.maxNodes){
+					if(printToConsole)
+						System.out.println("No external BFS solution found: " + (current == 0 ? "Goal state is unreachable" : "Exceeded maxnodes") + "\n");
+					return false;
+				}
+				this.nodesExplored += current;
+				Path next = this.layerPath(depth + 1);
+				found = this.expandLayer(depth > 0 ? layers.get(depth - 1) : null, layers.get(depth), current, next, goal);
+				layers.add(next);
+				this.largestLayer = Math.max(this.largestLayer, this.layerSize(next));
+				depth++;
+			}
+			this.solutionMoves = this.tracePath(layers, goal);
+			this.pathLength = depth;
+		}
+		finally{
+			this.runBuffer = new long[0];
+			for(Path layer : layers){
+				Files.deleteIfExists(layer);
+			}
+			Files.delete(this.directory);
+		}
+		if(printToConsole){
+			System.out.println("External BFS Solution Found in " + this.pathLength + " moves.\n" +
+					"Solution from initial state: " + PackedBoard.toPath(this.solutionMoves) + "\n" +
+					"Nodes explored for search: " + this.nodesExplored + "\n" +
+					"Largest layer: " + this.largestLayer + " states\n");
+		}
+		return true;
+	}
+
+	/** This method runs the breadth first search from the goal until no states are left, keeping only two layers on disk
+	 * @return  the number of states at each distance from the goal*/
+	public long[] countDistances() throws IOException{
+		long goal = this.geometry.pack(this.geometry.goal())[0];
+		List<Long> counts = new ArrayList<Long>();
+		this.directory = Files.createTempDirectory(this.workRoot, "bfs-");
+		Path previous = null;
+		Path current = this.layerPath(0);
+		this.nodesExplored = 0;
+		try{
+			this.writeLayer(0, goal);
+			for(long size = 1; size > 0; size = this.layerSize(current)){
+				counts.add(size);
+				this.nodesExplored += size;
+				Path next = this.layerPath(counts.size());
+				this.expandLayer(previous, current, size, next, goal);
+				if(previous != null)
+					Files.delete(previous);
+				previous = current;
+				current = next;
+			}
+		}
+		finally{
+			this.runBuffer = new long[0];
+			if(previous != null)
+				Files.deleteIfExists(previous);
+			Files.deleteIfExists(current);
+			Files.delete(this.directory);
+		}
+		long[] distances = new long[counts.size()];
+		for(int i = 0; i < distances.length; i++){
+			distances[i] = counts.get(i);
+		}
+		return distances;
+	}
+
+	/** This method writes the next layer: the successors of the current layer, sorted, without duplicates or states of the previous layer
+	 * @param previous  layer before the current one, or null for the first layer
+	 * @param current  layer to expand
+	 * @param currentSize  number of states in the current layer
+	 * @param next  file to write the next layer to
+	 * @param goal  key to watch for
+	 * @return  whether the next layer holds the goal*/
+	private boolean expandLayer(Path previous, Path current, long currentSize, Path next, long goal) throws IOException{
+		List<Path> runs = new ArrayList<Path>();
+		try{
+			long[] buffer = this.runBuffer(currentSize);
+			int count = 0;
+			long[] key = new long[1];
+			try(RecordReader in = new RecordReader(current)){
+				while(in.hasNext()){
+					key[0] = in.next();
+					byte[] tiles = this.geometry.unpack(key);
+					int blank = SlidingBoard.blankIndex(tiles);
+					for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+						int target = this.geometry.neighborCell(blank, move);
+						if(target < 0)
+							continue;
+						tiles[blank] = tiles[target];
+						tiles[target] = 0;
+						buffer[count++] = this.geometry.pack(tiles)[0];
+						tiles[target] = tiles[blank];
+						tiles[blank] = 0;
+						if(count == buffer.length){
+							runs.add(this.writeRun(buffer, count, runs.size()));
+							count = 0;
+						}
+					}
+				}
+			}
+			if(count > 0)
+				runs.add(this.writeRun(buffer, count, runs.size()));
+			// Merges the oldest runs into one longer run until few enough are left to merge into the layer at once
+			int index = runs.size();
+			while(runs.size() > MERGE_FAN_IN){
+				Path merged = this.runPath(index++);
+				runs.add(merged);
+				List<Path> group = runs.subList(0, MERGE_FAN_IN);
+				this.mergeRuns(group, null, merged, goal);
+				for(Path run : group){
+					Files.delete(run);
+				}
+				group.clear();
+			}
+			return this.mergeRuns(runs, previous, next, goal);
+		}
+		finally{
+			for(Path run : runs){
+				Files.deleteIfExists(run);
+			}
+		}
+	}
+
+	// Returns the run buffer, grown if the layer's successors (at most 4 per state) would outgrow it before a full run
+	private long[] runBuffer(long layerSize){
+		long successors = Math.min(this.runRecords, 4 * layerSize);
+		if(this.runBuffer.length < successors)
+			this.runBuffer = new long[(int)Math.max(successors, Math.min(this.runRecords, 2L * this.runBuffer.length))];
+		return this.runBuffer;
+	}
+
+	// Sorts the buffered successors and writes each distinct one to a run file
+	private Path writeRun(long[] buffer, int count, int index) throws IOException{
+		Arrays.sort(buffer, 0, count);
+		Path run = this.runPath(index);
+		try(RecordWriter out = new RecordWriter(run)){
+			for(int i = 0; i < count; i++){
+				if(i == 0 || buffer[i] != buffer[i - 1])
+					out.write(buffer[i]);
+			}
+		}
+		return run;
+	}
+
+	// Merges the sorted runs into the next layer or a longer run, skipping repeats and the states of the previous layer if given, and reports whether it met the goal
+	private boolean mergeRuns(List<Path> runs, Path previous, Path next, long goal) throws IOException{
+		PriorityQueue<RecordReader> heads = new PriorityQueue<RecordReader>(Math.max(1, runs.size()), (a, b) -> Long.compare(a.peek(), b.peek()));
+		RecordReader earlier = null;
+		boolean found = false;
+		try(RecordWriter out = new RecordWriter(next)){
+			for(Path run : runs){
+				RecordReader in = new RecordReader(run);
+				if(in.hasNext())
+					heads.add(in);
+				else
+					in.close();
+			}
+			if(previous != null)
+				earlier = new RecordReader(previous);
+			long last = -1;
+			while(!heads.isEmpty()){
+				RecordReader in = heads.poll();
+				long key = in.next();
+				if(in.hasNext())
+					heads.add(in);
+				else
+					in.close();
+				if(key == last)
+					continue;
+				last = key;
+				while(earlier != null && earlier.hasNext() && earlier.peek() < key){
+					earlier.next();
+				}
+				if(earlier != null && earlier.hasNext() && earlier.peek() == key)
+					continue;
+				out.write(key);
+				found |= key == goal;
+			}
+		}
+		finally{
+			for(RecordReader in : heads){
+				in.close();
+			}
+			if(earlier != null)
+				earlier.close();
+		}
+		return found;
+	}
+
+	// Walks back from the goal, finding in each earlier layer a state one move away
+	private byte[] tracePath(List<Path> layers, long goal) throws IOException{
+		byte[] moves = new byte[layers.size() - 1];
+		long[] key = {goal};
+		for(int depth = moves.length - 1; depth >= 0; depth--){
+			byte[] tiles = this.geometry.unpack(key);
+			int blank = SlidingBoard.blankIndex(tiles);
+			try(FileChannel layer = FileChannel.open(layers.get(depth), StandardOpenOption.READ)){
+				for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+					int target = this.geometry.neighborCell(blank, move);
+					if(target < 0)
+						continue;
+					tiles[blank] = tiles[target];
+					tiles[target] = 0;
+					long parent = this.geometry.pack(tiles)[0];
+					tiles[target] = tiles[blank];
+					tiles[blank] = 0;
+					if(contains(layer, parent)){
+						// the blank moves back the other way to get from the parent to this state
+						moves[depth] = (byte)PackedBoard.inverse(move);
+						key[0] = parent;
+						break;
+					}
+				}
+			}
+		}
+		return moves;
+	}
+
+	// Binary searches a sorted layer for the key
+	private static boolean contains(FileChannel layer, long key) throws IOException{
+		ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+		long low = 0;
+		long high = layer.size() / RECORD_SIZE - 1;
+		while(low <= high){
+			long middle = (low + high) >>> 1;
+			record.clear();
+			while(record.hasRemaining() && layer.read(record, middle * RECORD_SIZE + record.position()) > 0);
+			long value = record.getLong(0);
+			if(value < key)
+				low = middle + 1;
+			else if(value > key)
+				high = middle - 1;
+			else
+				return true;
+		}
+		return false;
+	}
+
+	// Writes a layer holding the one key
+	private Path writeLayer(int depth, long key) throws IOException{
+		Path layer = this.layerPath(depth);
+		try(RecordWriter out = new RecordWriter(layer)){
+			out.write(key);
+		}
+		return layer;
+	}
+
+	private Path layerPath(int depth){
+		return this.directory.resolve("layer-" + depth + ".bin");
+	}
+
+	private Path runPath(int index){
+		return this.directory.resolve("run-" + index + ".bin");
+	}
+
+	private long layerSize(Path layer) throws IOException{
+		return Files.size(layer) / RECORD_SIZE;
+	}
+
+	public long getNodesExplored(){
+		return this.nodesExplored;
+	}
+
+	public long getLargestLayer(){
+		return this.largestLayer;
+	}
+
+	public int getPathLength(){
+		return this.pathLength;
+	}
+
+	public byte[] getSolutionMoves(){
+		return this.solutionMoves;
+	}
+
+	// This class represents a buffered sequential reader of a record file
+	private static final class RecordReader implements Closeable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+		RecordReader(Path file) throws IOException{
+			this.channel = FileChannel.open(file, StandardOpenOption.READ);
+			this.buffer.limit(0);
+		}
+
+		boolean hasNext() throws IOException{
+			if(this.buffer.remaining() >= RECORD_SIZE)
+				return true;
+			this.buffer.compact();
+			while(this.buffer.position() < RECORD_SIZE && this.channel.read(this.buffer) > 0);
+			this.buffer.flip();
+			return this.buffer.remaining() >= RECORD_SIZE;
+		}
+
+		// Returns the next record without reading past it, only after hasNext returned true
+		long peek(){
+			return this.buffer.getLong(this.buffer.position());
+		}
+
+		long next(){
+			return this.buffer.getLong();
+		}
+
+		@Override
+		public void close() throws IOException{
+			this.channel.close();
+		}
+	}
+
+	// This class represents a buffered sequential writer of a record file, replacing any file already there
+	private static final class RecordWriter implements Closeable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+		RecordWriter(Path file) throws IOException{
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		}
+
+		void write(long record) throws IOException{
+			if(this.buffer.remaining() < RECORD_SIZE)
+				this.flush();
+			this.buffer.putLong(record);
+		}
+
+		private void flush() throws IOException{
+			this.buffer.flip();
+			while(this.buffer.hasRemaining()){
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException{
+			try{
+				this.flush();
+			}
+			finally{
+				this.channel.close();
+			}
+		}
+	}
+}
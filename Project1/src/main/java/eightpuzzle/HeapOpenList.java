@@ -0,0 +1,25 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents an open list backed by a binary heap ordered by StateNodeComparator*/
+package eightpuzzle;
+import java.util.PriorityQueue;
+public class HeapOpenList implements OpenList {
+	private PriorityQueue<StateNode> heap = new PriorityQueue<StateNode>(new StateNodeComparator());
+	
+	public boolean add(StateNode node){
+		return this.heap.add(node);
+	}
+	
+	public StateNode poll(){
+		return this.heap.poll();
+	}
+	
+	public void clear(){
+		this.heap.clear();
+	}
+	
+	public int size(){
+		return this.heap.size();
+	}
+}
@@ -0,0 +1,98 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents an open list backed by a binary heap that holds at most one node per state.
+ * Every state added is indexed by packed board, and open nodes remember their heap slot, so a child that
+ * reaches an open state by a shorter path replaces the old node in place (decrease-key) and any other
+ * duplicate is dropped when it is generated instead of sitting in the heap until it is polled*/
+package eightpuzzle;
+import java.util.Arrays;
+public class IndexedOpenList implements OpenList {
+	private StateNode[] heap = new StateNode[1024];
+	private int size = 0;
+	// best node known for every state added since the last clear, open or already polled
+	private StateMap bestNodes = new StateMap();
+	
+	// Adds the node unless the same state is already known with an equal or lower actual cost
+	public boolean add(StateNode node){
+		StateNode known = this.bestNodes.get(node.getState());
+		if(known != null && known.getActualCost() <= node.getActualCost())
+			return false;
+		this.bestNodes.put(node.getState(), node);
+		if(known != null && known.getHeapIndex() >= 0){
+			// same state and heuristic with a lower cost, so the node can only move up
+			int slot = known.getHeapIndex();
+			known.setHeapIndex(-1);
+			this.siftUp(slot, node);
+		}
+		else{
+			if(this.size == this.heap.length)
+				this.heap = Arrays.copyOf(this.heap, this.size * 2);
+			this.siftUp(this.size++, node);
+		}
+		return true;
+	}
+	
+	public StateNode poll(){
+		if(this.size == 0)
+			return null;
+		StateNode best = this.heap[0];
+		best.setHeapIndex(-1);
+		StateNode last = this.heap[--this.size];
+		this.heap[this.size] = null;
+		if(this.size > 0)
+			this.siftDown(0, last);
+		return best;
+	}
+	
+	public void clear(){
+		for(int i = 0; i < this.size; i++){
+			this.heap[i].setHeapIndex(-1);
+			this.heap[i] = null;
+		}
+		this.size = 0;
+		this.bestNodes.clear();
+	}
+	
+	public int size(){
+		return this.size;
+	}
+	
+	// Returns whether the first node should be expanded before the second, in StateNodeComparator's order
+	private static boolean before(StateNode first, StateNode second){
+		return first.getTotalCost() < second.getTotalCost()
+				|| (first.getTotalCost() == second.getTotalCost() && first.getActualCost() > second.getActualCost());
+	}
+	
+	// Places the node at the slot or above it, moving worse parents down
+	private void siftUp(int slot, StateNode node){
+		while(slot > 0){
+			int parent = (slot - 1) >>> 1;
+			if(!before(node, this.heap[parent]))
+				break;
+			this.place(slot, this.heap[parent]);
+			slot = parent;
+		}
+		this.place(slot, node);
+	}
+	
+	// Places the node at the slot or below it, moving better children up
+	private void siftDown(int slot, StateNode node){
+		int half = this.size >>> 1;
+		while(slot < half){
+			int child = 2 * slot + 1;
+			if(child + 1 < this.size && before(this.heap[child + 1], this.heap[child]))
+				child++;
+			if(!before(this.heap[child], node))
+				break;
+			this.place(slot, this.heap[child]);
+			slot = child;
+		}
+		this.place(slot, node);
+	}
+	
+	private void place(int slot, StateNode node){
+		this.heap[slot] = node;
+		node.setHeapIndex(slot);
+	}
+}
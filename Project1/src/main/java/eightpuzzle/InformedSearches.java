@@ -0,0 +1,1036 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the two search methods and their helper functions*/
+package eightpuzzle;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.FlightRecorder;
+public class InformedSearches {
+	private ClosedSet visitedNodes;						// keeps track of already visited nodes
+	private OpenList explorableNodes;					// keeps track of nodes that have been discovered
+	private String heuristic;
+	private int maxNodes = 0;
+	private int nodesExplored = 0;
+	private int beamLimit = 0;
+	
+	// Counters published through SearchStats after every search
+	private long nodesGenerated = 0;
+	private long duplicates = 0;					// generated nodes that were already seen
+	private int peakOpenSize = 0;
+	private SearchRecord lastSearch;
+	
+	// Optimal searches of a state whose optimal path to the goal is cached return it without searching
+	private SolutionCache solutionCache = SolutionCache.getInstance();
+	
+	// Used for testing
+	private boolean solved = false;
+	public boolean printToConsole = true;
+	public int pathLength = 0;
+	private byte[] solutionMoves = new byte[0];
+	
+	// IDA* runs in SlidingPuzzleSearch, which keeps the counters of each iteration
+	private ArrayList<Integer> iterationThresholds = new ArrayList<Integer>();
+	private ArrayList<Integer> iterationNodes = new ArrayList<Integer>();
+	
+	// Bidirectional search keeps every state reached from each end, keyed by packed board
+	private StateMap forwardNodes = new StateMap();
+	private StateMap backwardNodes = new StateMap();
+	
+	// Anytime search runs weighted A* with weights of ANYTIME_WEIGHTS / WEIGHT_SCALE, from greedy down to plain A*
+	private static final int WEIGHT_SCALE = 4;
+	private static final int[] ANYTIME_WEIGHTS = {20, 12, 8, 6, 5, 4};
+	private HeapOpenList anytimeNodes = new HeapOpenList();
+	private double suboptimalityBound = 0;			// the last solution costs at most this times the optimal cost
+	private AtomicBoolean cancelled = new AtomicBoolean();
+	
+	// Beam search keeps the current beam and the children it generates in arrays reused between searches
+	private StateNode[] beam = new StateNode[0];
+	private int beamSize = 0;
+	private long[] candidateBoards = new long[0];
+	private int[] candidateCosts = new int[0];
+	private StateNode[] candidateParents = new StateNode[0];
+	private byte[] candidateMoves = new byte[0];
+	private long[] candidateKeys = new long[0];
+	private ClosedSet beamCandidates = new ClosedSet();	// children generated for the next beam so far
+	
+	// MISPLACED_COST[tile][cell] and MANHATTAN_COST[tile][cell] give each tile's share of h1 and h2 in that cell.
+	// The blank always costs 0, otherwise the heuristics overestimate and A* loses optimality
+	private static final int[][] MISPLACED_COST = new int[PackedBoard.CELLS][PackedBoard.CELLS];
+	private static final int[][] MANHATTAN_COST = new int[PackedBoard.CELLS][PackedBoard.CELLS];
+	
+	static{
+		for(int tile = 1; tile < PackedBoard.CELLS; tile++){
+			for(int cell = 0; cell < PackedBoard.CELLS; cell++){
+				MISPLACED_COST[tile][cell] = tile == cell ? 0 : 1;
+				MANHATTAN_COST[tile][cell] = Math.abs(tile/PackedBoard.SIZE - cell/PackedBoard.SIZE) + Math.abs(tile%PackedBoard.SIZE - cell%PackedBoard.SIZE);
+			}
+		}
+	}
+
+	// 1 arg constructor to initialize the InformedSearches object based on heuristic choice
+	public InformedSearches(String heuristic){
+		this.setVisitedNodes(new ClosedSet());
+		this.explorableNodes = new BucketOpenList();
+		this.heuristic = heuristic;
+	}
+	
+	// Clears all traces of last search
+	public void resetSearch(){
+		this.getVisitedNodes().clear();
+		this.getExplorableNodes().clear();
+		this.setSolved(false);
+		this.setNodesExplored(0);
+		this.pathLength = 0;
+		this.solutionMoves = new byte[0];
+		this.iterationThresholds.clear();
+		this.iterationNodes.clear();
+		this.beamCandidates.clear();
+		Arrays.fill(this.beam, 0, this.beamSize, null);
+		this.beamSize = 0;
+		this.forwardNodes.clear();
+		this.backwardNodes.clear();
+		this.nodesGenerated = 0;
+		this.duplicates = 0;
+		this.peakOpenSize = 0;
+		this.anytimeNodes.clear();
+		this.suboptimalityBound = 0;
+	}
+		
+	/** This method runs the search named by the console tokens, such as "a-star h2", "ida h3", "sma 64", "beam 50", "bidirectional" or "table"
+	 * @param algorithm  the search name followed by its heuristic or beam width, checked with validateAlgorithm
+	 * @param initialPuzzle  initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean search(String[] algorithm, long initialPuzzle){
+		// loading a JFR event class starts the recorder's machinery, so the event is only made once a recording has begun
+		SolveEvent event = null;
+		if(FlightRecorder.isInitialized()){
+			event = new SolveEvent();
+			event.begin();
+		}
+		long allocatedBefore = SearchStats.threadAllocatedBytes();
+		long startTime = System.nanoTime();
+		// only optimal paths are cached, and the table already knows every optimal path
+		boolean cacheable = this.solutionCache != null && this.solutionCache.isEnabled() && isOptimal(algorithm)
+				&& !algorithm[0].equals("table");
+		boolean solved = false;
+		// unsolvable states are refused up front, since searches like IDA* would otherwise deepen until the node limit
+		if(!PackedBoard.isSolvable(initialPuzzle)){
+			this.resetSearch();
+			if(printToConsole)
+				System.out.println("No solution found: Invalid starting state\n");
+		}
+		// the cache is probed once, for the initial state, so each search counts one hit or miss
+		else
+			solved = cacheable && this.cachedSearch(initialPuzzle) || this.runSearch(algorithm, initialPuzzle);
+		if(solved && cacheable)
+			this.solutionCache.addPath(initialPuzzle, this.solutionMoves);
+		long wallTime = System.nanoTime() - startTime;
+		if(event != null)
+			event.end();
+		
+		// every search keeps its closed states in the closed set or the two bidirectional maps, and they only grow
+		int closedSize = this.getVisitedNodes().size() + this.forwardNodes.size() + this.backwardNodes.size();
+		this.lastSearch = new SearchRecord(String.join(" ", algorithm), solved, solved ? this.pathLength : -1, this.nodesExplored,
+				this.nodesGenerated, this.duplicates, this.peakOpenSize, closedSize, wallTime, SearchStats.threadAllocatedBytes() - allocatedBefore);
+		SearchStats.getInstance().record(this.lastSearch);
+		if(event != null && event.shouldCommit()){
+			event.algorithm = this.lastSearch.getAlgorithm();
+			event.puzzle = initialPuzzle;
+			event.solved = solved;
+			event.pathLength = this.lastSearch.getPathLength();
+			event.nodesExpanded = this.nodesExplored;
+			event.nodesGenerated = this.nodesGenerated;
+			event.duplicates = this.duplicates;
+			event.peakOpenSize = this.peakOpenSize;
+			event.peakClosedSize = closedSize;
+			event.allocatedBytes = this.lastSearch.getAllocatedBytes();
+			event.commit();
+		}
+		return solved;
+	}
+	
+	// Solves the puzzle straight from the solution cache, returning false if it is not cached
+	private boolean cachedSearch(long initialPuzzle){
+		this.resetSearch();
+		byte[] moves = this.solutionCache.path(initialPuzzle);
+		if(moves == null)
+			return false;
+		this.solutionMoves = moves;
+		this.pathLength = moves.length;
+		if(printToConsole){
+			System.out.println("Cached Solution Found in " + this.pathLength + " moves.\n" +
+					"Solution from initial state: " + this.getSolutionPath() + "\n" +
+					"Nodes explored for search: " + this.nodesExplored + "\n");
+		}
+		this.setSolved(true);
+		return true;
+	}
+	
+	// Dispatches to the search named by the tokens
+	private boolean runSearch(String[] algorithm, long initialPuzzle){
+		switch(algorithm[0]){
+			case "a-star":{
+				this.setHeuristic(algorithm[1]);
+				return this.aStarSearch(initialPuzzle);
+			}
+			case "ida":{
+				this.setHeuristic(algorithm[1]);
+				return this.idaStarSearch(initialPuzzle);
+			}
+			case "beam":{
+				return this.localBeamSearch(Integer.parseInt(algorithm[1]), initialPuzzle);
+			}
+			case "table":{
+				return this.tableSearch(initialPuzzle);
+			}
+			case "bidirectional":{
+				return this.bidirectionalSearch(initialPuzzle);
+			}
+			case "hda":{
+				return this.parallelSearch(initialPuzzle, Integer.parseInt(algorithm[1]));
+			}
+			case "external":{
+				return this.externalSearch(initialPuzzle);
+			}
+			case "sma":{
+				return this.memoryBoundedSearch(initialPuzzle, Long.parseLong(algorithm[1]) * 1024);
+			}
+			case "anytime":{
+				this.setHeuristic(algorithm[1]);
+				this.cancelled.set(false);
+				long budget = (long)(Double.parseDouble(algorithm[2]) * 1000000);
+				return this.anytimeSearch(initialPuzzle, System.nanoTime() + budget, this.cancelled);
+			}
+			default:{
+				throw new IllegalArgumentException("Unknown search: " + algorithm[0]);
+			}
+		}
+	}
+	
+	// Checks to see if the tokens name a supported search with a legal heuristic or beam width, printing why not
+	public static boolean validateAlgorithm(String[] algorithm){
+		String error = algorithmError(algorithm);
+		if(error != null)
+			System.out.println("Invalid input: " + error + "\n");
+		return error == null;
+	}
+	
+	// Returns whether the search always finds a shortest path, which beam and anytime searches do not
+	public static boolean isOptimal(String[] algorithm){
+		return !algorithm[0].equals("beam") && !algorithm[0].equals("anytime");
+	}
+	
+	// Returns whether the search starts threads of its own, which hda does with one worker per thread it is given
+	public static boolean isParallel(String[] algorithm){
+		return algorithm[0].equals("hda");
+	}
+	
+	// Returns why the tokens do not name a supported search with a legal heuristic or beam width, or null if they do
+	static String algorithmError(String[] algorithm){
+		if(algorithm.length == 1 && (algorithm[0].equals("table") || algorithm[0].equals("bidirectional") || algorithm[0].equals("external"))){
+			return null;
+		}
+		else if(algorithm.length == 2 && (algorithm[0].equals("a-star") || algorithm[0].equals("ida"))){
+			if(isHeuristic(algorithm[1]))
+				return null;
+			return "please enter 'h1', 'h2', 'h3', 'h4' or 'h5' for heuristic";
+		}
+		else if(algorithm.length == 3 && algorithm[0].equals("anytime")){
+			if(!isHeuristic(algorithm[1]))
+				return "please enter 'h1', 'h2', 'h3', 'h4' or 'h5' for heuristic";
+			try{
+				if(Double.parseDouble(algorithm[2]) > 0)
+					return null;
+			}
+			catch(NumberFormatException e){
+				// fall through to the message below
+			}
+			return "the time budget must be a positive number of milliseconds";
+		}
+		else if(algorithm.length == 2 && algorithm[0].equals("beam")){
+			// a beam never holds a state twice, so a wider one than every reachable state gains nothing
+			try{
+				int k = Integer.parseInt(algorithm[1]);
+				if(k > 0 && k <= PackedBoard.REACHABLE_STATES)
+					return null;
+			}
+			catch(NumberFormatException e){
+				// fall through to the message below
+			}
+			return "k must be from 1 to " + PackedBoard.REACHABLE_STATES;
+		}
+		else if(algorithm.length == 2 && algorithm[0].equals("hda")){
+			// more workers than cores would only take turns on them
+			int cores = Runtime.getRuntime().availableProcessors();
+			try{
+				int threads = Integer.parseInt(algorithm[1]);
+				if(threads > 0 && threads <= cores)
+					return null;
+			}
+			catch(NumberFormatException e){
+				// fall through to the message below
+			}
+			return "the number of threads must be from 1 to " + cores;
+		}
+		else if(algorithm.length == 2 && algorithm[0].equals("sma")){
+			try{
+				if(Long.parseLong(algorithm[1]) > 0)
+					return null;
+			}
+			catch(NumberFormatException e){
+				// fall through to the message below
+			}
+			return "the memory budget must be a positive number of kilobytes";
+		}
+		return "only 'a-star', 'ida', 'anytime', 'sma', 'hda', 'beam', 'bidirectional', 'external' and 'table' searches supported";
+	}
+	
+	/** This method is an A* search using either a misplaced tiles heuristic or a Manhattan distance heuristic
+	 * @param initialPuzzle  initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean aStarSearch(long initialPuzzle){
+		this.resetSearch();
+		StateNode root = new StateNode(initialPuzzle, this.calculateHeuristic(initialPuzzle), 0);
+		
+		// Add root to the queue
+		this.getExplorableNodes().add(root);
+		
+		// Begin exploring
+		this.exploreNodeAStar();
+		return this.isSolved();
+	}
+	
+	//This helper method repeatedly evaluates the best node and determines what to do with it
+	public void exploreNodeAStar(){
+		while(true){
+			nodesExplored++;
+			// Remove the best node to expand
+			StateNode currentNode = this.getExplorableNodes().poll();
+			
+			// Checks if the polled node was null - we couldn't find a solution
+			if(currentNode == null){
+				if(printToConsole)
+					System.out.println("No A* solution found: Invalid starting state");
+				return;
+			}
+			// Checks if too many nodes have been expanded - exit early
+			else if(nodesExplored > maxNodes){
+				if(printToConsole)
+					System.out.println("No A* solution found: Exceeded maxnodes ");
+				return;
+			}
+			// Checks if we have reached the goal
+			else if(currentNode.getHeuristicCost() == 0){
+				this.solutionMoves = currentNode.getMoves();
+				if(printToConsole){
+					System.out.println("A* " + this.getHeuristic() + " Solution Found in " + currentNode.getActualCost() + " moves.\n" +
+							"Solution from initial state: " + this.getSolutionPath() + "\n" +
+							"Nodes explored for search: " + this.nodesExplored + "\n");
+				}
+				pathLength = currentNode.getActualCost();
+				this.setSolved(true);
+				return;
+			}
+			// if the puzzle state has not been visited yet, expand the node to get it's children and add to queue
+			else if(this.getVisitedNodes().add(currentNode.getState())){
+				ArrayList<StateNode> children = this.findChildren(currentNode);
+				this.nodesGenerated += children.size();
+				// children that were already expanded are dropped now rather than when they are polled
+				for(StateNode child : children){
+					if(this.getVisitedNodes().contains(child.getState()) || !this.getExplorableNodes().add(child))
+						this.duplicates++;
+				}
+				this.peakOpenSize = Math.max(this.peakOpenSize, this.getExplorableNodes().size());
+			}
+			else{
+				this.duplicates++;
+			}
+		}
+	}
+	
+	// Helper method to return all possible children for the root
+	public ArrayList<StateNode> findChildren(StateNode root){
+		ArrayList<StateNode> children = new ArrayList<StateNode>(4);
+		int[][] costTable = this.heuristicCostTable();
+		int blank = PackedBoard.blankIndex(root.getState());
+		// Try to move the blank all 4 directions and create StateNodes if applicable
+		for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+			long childPuzzle = PackedBoard.move(root.getState(), move);
+			if(childPuzzle != PackedBoard.INVALID){
+				int heuristicCost;
+				if(costTable == null){
+					heuristicCost = this.calculateHeuristic(childPuzzle);
+				}
+				else{
+					// only the tile that slid into the blank changed position, so update the parent's cost by its difference
+					int target = PackedBoard.blankIndex(childPuzzle);
+					int tile = PackedBoard.tileAt(root.getState(), target);
+					heuristicCost = root.getHeuristicCost() + costTable[tile][blank] - costTable[tile][target];
+				}
+				children.add(new StateNode(childPuzzle, heuristicCost, root.getActualCost() + 1, root, move));
+			}
+		}
+		
+		return children;
+	}
+	
+	/** This method is an anytime search that quickly finds a weighted A* solution, then reruns weighted A* with smaller
+	 * weights, pruning every node that cannot beat the best solution so far, until plain A* proves it optimal or the search
+	 * runs out of time, nodes or is cancelled. The best solution found is kept along with its suboptimality bound: a run
+	 * with weight w that finishes returns a solution at most w times the optimal cost, since every heuristic is consistent
+	 * @param initialPuzzle  initial puzzle state
+	 * @param deadline  System.nanoTime() value to stop at
+	 * @param cancelled  flag another thread can set to stop the search, or null
+	 * @return  whether or not a solution was found*/
+	public boolean anytimeSearch(long initialPuzzle, long deadline, AtomicBoolean cancelled){
+		this.resetSearch();
+		int heuristicCost = this.calculateHeuristic(initialPuzzle);
+		int bestCost = Integer.MAX_VALUE;
+		String stopReason = null;
+		
+		for(int weight : ANYTIME_WEIGHTS){
+			this.getVisitedNodes().clear();
+			this.anytimeNodes.clear();
+			this.anytimeNodes.add(this.weigh(new StateNode(initialPuzzle, heuristicCost, 0), weight));
+			while(stopReason == null){
+				StateNode currentNode = this.anytimeNodes.poll();
+				// Checks if every node left was pruned - this weight cannot improve the solution
+				if(currentNode == null)
+					break;
+				// Checks if we reached the goal, which beats the best solution since worse nodes are pruned
+				if(currentNode.getHeuristicCost() == 0){
+					bestCost = currentNode.getActualCost();
+					this.solutionMoves = currentNode.getMoves();
+					if(printToConsole)
+						System.out.println("Anytime weight " + (double)weight / WEIGHT_SCALE + ": solution of " + bestCost + " moves, nodes explored " + this.nodesExplored);
+					break;
+				}
+				if(!this.getVisitedNodes().add(currentNode.getState())){
+					this.duplicates++;
+					continue;
+				}
+				// Checks the budgets, only looking at the clock every 64 nodes
+				if(++this.nodesExplored > this.maxNodes)
+					stopReason = "Exceeded maxnodes";
+				else if((this.nodesExplored & 63) == 0 && System.nanoTime() - deadline >= 0)
+					stopReason = "Exceeded time budget";
+				else if(cancelled != null && cancelled.get())
+					stopReason = "Cancelled";
+				else{
+					for(StateNode child : this.findChildren(currentNode)){
+						this.nodesGenerated++;
+						if(child.getTotalCost() >= bestCost || this.getVisitedNodes().contains(child.getState()))
+							this.duplicates++;
+						else
+							this.anytimeNodes.add(this.weigh(child, weight));
+					}
+					this.peakOpenSize = Math.max(this.peakOpenSize, this.anytimeNodes.size());
+				}
+			}
+			if(stopReason != null)
+				break;
+			// the run finished, so the best solution is within this weight of optimal
+			if(bestCost != Integer.MAX_VALUE)
+				this.suboptimalityBound = (double)weight / WEIGHT_SCALE;
+			// a solution no longer than the admissible estimate of the start is optimal without another run
+			if(bestCost == heuristicCost)
+				this.suboptimalityBound = 1;
+			if(this.suboptimalityBound == 1 || bestCost == Integer.MAX_VALUE)
+				break;
+		}
+		
+		if(bestCost == Integer.MAX_VALUE){
+			if(printToConsole)
+				System.out.println("No anytime solution found: " + (stopReason == null ? "Invalid starting state" : stopReason) + "\n");
+			return false;
+		}
+		this.pathLength = bestCost;
+		if(printToConsole){
+			System.out.println("Anytime " + this.getHeuristic() + " Solution Found in " + this.pathLength + " moves, " +
+					(this.suboptimalityBound == 1 ? "proven optimal" : "at most " + this.suboptimalityBound + " times optimal") +
+					(stopReason == null ? "" : " (" + stopReason + ")") + ".\n" +
+					"Solution from initial state: " + this.getSolutionPath() + "\n" +
+					"Nodes explored for search: " + this.nodesExplored + "\n");
+		}
+		this.setSolved(true);
+		return true;
+	}
+	
+	// Orders the node by g + w * h for the weight, scaled to stay an integer
+	private StateNode weigh(StateNode node, int weight){
+		node.setTotalCost(WEIGHT_SCALE * node.getActualCost() + weight * node.getHeuristicCost());
+		return node;
+	}
+	
+	/** This method is an iterative deepening A* search using the chosen heuristic.
+	 * Memory use is proportional to the solution depth since only the current path is stored
+	 * @param initialPuzzle  initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean idaStarSearch(long initialPuzzle){
+		this.resetSearch();
+		SlidingPuzzleSearch search = new SlidingPuzzleSearch(SlidingBoard.ofSize(PackedBoard.SIZE), this.maxNodes);
+		boolean found = search.search(new IdaBoard(initialPuzzle));
+		this.setNodesExplored(search.getNodesExplored());
+		this.nodesGenerated = search.getNodesGenerated();
+		this.peakOpenSize = search.getPeakDepth();
+		this.iterationThresholds.addAll(search.getIterationThresholds());
+		this.iterationNodes.addAll(search.getIterationNodes());
+		if(printToConsole){
+			for(int i = 0; i < this.iterationThresholds.size(); i++){
+				System.out.println("IDA* iteration " + (i + 1) + ": threshold " + this.iterationThresholds.get(i) + ", nodes explored " + this.iterationNodes.get(i));
+			}
+		}
+		
+		if(found){
+			this.pathLength = search.getPathLength();
+			this.solutionMoves = search.getSolutionMoves();
+			if(printToConsole){
+				System.out.println("IDA* " + this.getHeuristic() + " Solution Found in " + this.pathLength + " moves.\n" +
+						"Solution from initial state: " + this.getSolutionPath() + "\n" +
+						"Nodes explored for search: " + this.nodesExplored + "\n");
+			}
+			this.setSolved(true);
+			return true;
+		}
+		if(printToConsole)
+			System.out.println(search.exceededMaxNodes() ? "No IDA* solution found: Exceeded maxnodes\n" : "No IDA* solution found: Invalid starting state\n");
+		return false;
+	}
+	
+	// This class represents the packed board IDA* moves in place, updating h1 and h2 from the tile that moved and computing the others again
+	private final class IdaBoard implements SlidingPuzzleSearch.Board {
+		private final int[][] costTable = heuristicCostTable();
+		private long puzzle;
+		
+		IdaBoard(long puzzle){
+			this.puzzle = puzzle;
+		}
+		
+		public int heuristic(){
+			return calculateHeuristic(this.puzzle);
+		}
+		
+		public int blankIndex(){
+			return PackedBoard.blankIndex(this.puzzle);
+		}
+		
+		public int slide(int blank, int target, int heuristicCost){
+			int tile = PackedBoard.tileAt(this.puzzle, target);
+			this.puzzle = PackedBoard.slide(this.puzzle, blank, target);
+			if(this.costTable == null)
+				return calculateHeuristic(this.puzzle);
+			return heuristicCost + this.costTable[tile][blank] - this.costTable[tile][target];
+		}
+		
+		public void undo(int blank, int target){
+			this.puzzle = PackedBoard.slide(this.puzzle, target, blank);
+		}
+	}
+	
+	/** This method looks up an optimal solution in the precomputed distance table without any search
+	 * @param initialPuzzle  initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean tableSearch(long initialPuzzle){
+		this.resetSearch();
+		if(!PackedBoard.isSolvable(initialPuzzle)){
+			if(printToConsole)
+				System.out.println("No table solution found: Invalid starting state\n");
+			return false;
+		}
+		this.solutionMoves = DistanceTable.getInstance().solve(initialPuzzle);
+		this.pathLength = this.solutionMoves.length;
+		if(printToConsole){
+			System.out.println("Table Solution Found in " + this.pathLength + " moves.\n" +
+					"Solution from initial state: " + this.getSolutionPath() + "\n" +
+					"Nodes explored for search: " + this.nodesExplored + "\n");
+		}
+		this.setSolved(true);
+		return true;
+	}
+	
+	/** This method is a memory-bounded A* search (SMA*) using the Manhattan distance heuristic, run by MemoryBoundedSearch
+	 * @param initialPuzzle  initial puzzle state
+	 * @param budgetBytes  estimated bytes the search tree may hold
+	 * @return  whether or not puzzle was solved*/
+	public boolean memoryBoundedSearch(long initialPuzzle, long budgetBytes){
+		this.resetSearch();
+		SlidingBoard geometry = SlidingBoard.ofSize(PackedBoard.SIZE);
+		MemoryBoundedSearch search = new MemoryBoundedSearch(geometry, budgetBytes, this.maxNodes);
+		search.printToConsole = this.printToConsole;
+		boolean solved = search.search(geometry.pack(PackedBoard.toTiles(initialPuzzle)));
+		this.nodesExplored = search.getNodesExplored();
+		this.nodesGenerated = search.getNodesGenerated();
+		this.peakOpenSize = search.getPeakStoredNodes();
+		this.solutionMoves = search.getSolutionMoves();
+		this.pathLength = search.getPathLength();
+		this.setSolved(solved);
+		return solved;
+	}
+	
+	/** This method is a hash distributed parallel A* search (HDA*) using the Manhattan distance heuristic, run by ParallelAStarSearch
+	 * @param initialPuzzle  initial puzzle state
+	 * @param threads  number of workers, each owning a share of the states
+	 * @return  whether or not puzzle was solved*/
+	public boolean parallelSearch(long initialPuzzle, int threads){
+		this.resetSearch();
+		SlidingBoard geometry = SlidingBoard.ofSize(PackedBoard.SIZE);
+		ParallelAStarSearch search = new ParallelAStarSearch(geometry, threads, this.maxNodes);
+		search.printToConsole = this.printToConsole;
+		boolean solved = search.search(geometry.pack(PackedBoard.toTiles(initialPuzzle)));
+		this.nodesExplored = (int)search.getNodesExplored();
+		this.nodesGenerated = search.getNodesGenerated();
+		this.duplicates = search.getDuplicates();
+		this.peakOpenSize = search.getPeakOpenSize();
+		this.solutionMoves = search.getSolutionMoves();
+		this.pathLength = search.getPathLength();
+		this.setSolved(solved);
+		return solved;
+	}
+	
+	/** This method is a breadth first search with its layers on disk under the temporary directory, run by ExternalSearch
+	 * @param initialPuzzle  initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean externalSearch(long initialPuzzle){
+		this.resetSearch();
+		SlidingBoard geometry = SlidingBoard.ofSize(PackedBoard.SIZE);
+		ExternalSearch search = new ExternalSearch(geometry, Paths.get(System.getProperty("java.io.tmpdir")), ExternalSearch.DEFAULT_RUN_RECORDS, this.maxNodes);
+		search.printToConsole = this.printToConsole;
+		boolean solved;
+		try{
+			solved = search.search(geometry.pack(PackedBoard.toTiles(initialPuzzle)));
+		}
+		catch(IOException e){
+			if(printToConsole)
+				System.out.println("No external BFS solution found: " + e.getMessage() + "\n");
+			solved = false;
+		}
+		this.nodesExplored = (int)search.getNodesExplored();
+		this.peakOpenSize = (int)search.getLargestLayer();
+		this.solutionMoves = search.getSolutionMoves();
+		this.pathLength = search.getPathLength();
+		this.setSolved(solved);
+		return solved;
+	}
+	
+	/** This method is a bidirectional breadth first search that grows one tree from the initial state and one from
+	 * the goal, always expanding a whole layer of the smaller frontier, until the two trees meet
+	 * @param initialPuzzle  initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean bidirectionalSearch(long initialPuzzle){
+		this.resetSearch();
+		ArrayList<StateNode> forwardLayer = new ArrayList<StateNode>();
+		ArrayList<StateNode> backwardLayer = new ArrayList<StateNode>();
+		StateNode root = new StateNode(initialPuzzle, 0, 0);
+		StateNode goal = new StateNode(PackedBoard.GOAL, 0, 0);
+		forwardLayer.add(root);
+		backwardLayer.add(goal);
+		this.forwardNodes.put(initialPuzzle, root);
+		this.backwardNodes.put(PackedBoard.GOAL, goal);
+		StateNode[] meeting = this.backwardNodes.containsKey(initialPuzzle) ? new StateNode[]{root, goal} : null;
+		
+		while(meeting == null){
+			// Checks if either tree ran out of states - the trees can never meet
+			if(forwardLayer.isEmpty() || backwardLayer.isEmpty()){
+				if(printToConsole)
+					System.out.println("No bidirectional solution found: Invalid starting state\n");
+				return false;
+			}
+			boolean forward = forwardLayer.size() <= backwardLayer.size();
+			ArrayList<StateNode> layer = forward ? forwardLayer : backwardLayer;
+			StateMap ownNodes = forward ? this.forwardNodes : this.backwardNodes;
+			StateMap otherNodes = forward ? this.backwardNodes : this.forwardNodes;
+			ArrayList<StateNode> nextLayer = new ArrayList<StateNode>(layer.size() * 2);
+			int bestLength = Integer.MAX_VALUE;
+			
+			for(StateNode node : layer){
+				// Checks if too many nodes have been expanded - exit early
+				if(++nodesExplored > maxNodes){
+					if(printToConsole)
+						System.out.println("No bidirectional solution found: Exceeded maxnodes\n");
+					return false;
+				}
+				for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+					long childPuzzle = PackedBoard.move(node.getState(), move);
+					if(childPuzzle == PackedBoard.INVALID)
+						continue;
+					this.nodesGenerated++;
+					if(ownNodes.containsKey(childPuzzle)){
+						this.duplicates++;
+						continue;
+					}
+					StateNode child = new StateNode(childPuzzle, 0, node.getActualCost() + 1, node, move);
+					ownNodes.put(childPuzzle, child);
+					nextLayer.add(child);
+					// finish the layer before stopping, since a later child may meet a shallower node of the other tree
+					StateNode other = otherNodes.get(childPuzzle);
+					if(other != null && child.getActualCost() + other.getActualCost() < bestLength){
+						bestLength = child.getActualCost() + other.getActualCost();
+						meeting = forward ? new StateNode[]{child, other} : new StateNode[]{other, child};
+					}
+				}
+			}
+			if(forward)
+				forwardLayer = nextLayer;
+			else
+				backwardLayer = nextLayer;
+			this.peakOpenSize = Math.max(this.peakOpenSize, forwardLayer.size() + backwardLayer.size());
+		}
+		
+		// Join the forward path with the backward path, undoing each backward move on the way to the goal
+		byte[] forwardMoves = meeting[0].getMoves();
+		this.solutionMoves = Arrays.copyOf(forwardMoves, forwardMoves.length + meeting[1].getActualCost());
+		int index = forwardMoves.length;
+		for(StateNode node = meeting[1]; node.getParent() != null; node = node.getParent()){
+			this.solutionMoves[index++] = (byte)PackedBoard.inverse(node.getLastMove());
+		}
+		this.pathLength = this.solutionMoves.length;
+		if(printToConsole){
+			System.out.println("Bidirectional Solution Found in " + this.pathLength + " moves.\n" +
+					"Solution from initial state: " + this.getSolutionPath() + "\n" +
+					"Nodes explored for search: " + this.nodesExplored + "\n");
+		}
+		this.setSolved(true);
+		return true;
+	}
+	
+	/** This method is an beam search using Manhattan distance heuristic and a beamLimit = k.
+	 * Every state in the beam is expanded, then the best k new states become the next beam
+	 * @param initialPuzzle  initial puzzle state
+	 * @param k  the limit to number of states to consider
+	 * @return  whether or not puzzle was solved*/
+	public boolean localBeamSearch(int k, long initialPuzzle){
+		this.setHeuristic("h2");
+		this.resetSearch();
+		this.beamLimit = Math.min(k, PackedBoard.REACHABLE_STATES);
+		if(this.beam.length == 0)
+			this.beam = new StateNode[1];
+		// the root is the whole first beam
+		this.beam[0] = new StateNode(initialPuzzle, this.calculateHeuristic(initialPuzzle), 0);
+		this.beamSize = 1;
+		this.getVisitedNodes().add(initialPuzzle);
+		// begin exploring
+		this.exploreNodeBeam();
+		return this.isSolved();
+		
+	}
+	
+	//This helper method repeatedly checks the beam for the goal and replaces it with the best of its children
+	public void exploreNodeBeam(){
+		while(true){
+			// Check if we reached the goal 
+			for(int i = 0; i < this.beamSize; i++){
+				StateNode currentNode = this.beam[i];
+				if(currentNode.getHeuristicCost() == 0){
+					this.solutionMoves = currentNode.getMoves();
+					if(printToConsole){
+						System.out.println("Beam Search Solution Found in " + currentNode.getActualCost() + " moves.\n" +
+								"Solution from initial state: " + this.getSolutionPath() + "\n" +
+								"Nodes explored for search:" + this.nodesExplored + "\n");
+					}
+					pathLength = currentNode.getActualCost();
+					this.setSolved(true);
+					return;
+				}
+			}
+			// Check if there are no more explorable nodes - search failed
+			if(this.beamSize == 0){
+				if(printToConsole)
+					System.out.println("Beam Search was unable to find a solution.");
+				return;
+			}
+			
+			// Expand every state in the beam, skipping states from earlier beams and duplicates within this one
+			this.ensureCandidateCapacity(4 * this.beamSize);
+			int candidates = 0;
+			for(int i = 0; i < this.beamSize; i++){
+				// Check if too many nodes have been expanded
+				if(++nodesExplored > maxNodes){
+					if(printToConsole)
+						System.out.println("No Beam Search Solution: Exceeded max nodes");
+					return;
+				}
+				StateNode parent = this.beam[i];
+				long parentPuzzle = parent.getState();
+				int blank = PackedBoard.blankIndex(parentPuzzle);
+				for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+					int target = PackedBoard.neighborCell(blank, move);
+					if(target < 0)
+						continue;
+					long childPuzzle = PackedBoard.move(parentPuzzle, move);
+					this.nodesGenerated++;
+					if(this.getVisitedNodes().contains(childPuzzle) || !this.beamCandidates.add(childPuzzle)){
+						this.duplicates++;
+						continue;
+					}
+					int tile = PackedBoard.tileAt(parentPuzzle, target);
+					this.candidateBoards[candidates] = childPuzzle;
+					this.candidateCosts[candidates] = parent.getHeuristicCost() + MANHATTAN_COST[tile][blank] - MANHATTAN_COST[tile][target];
+					this.candidateParents[candidates] = parent;
+					this.candidateMoves[candidates] = (byte)move;
+					// sort by heuristic cost, then by generation order so ties are deterministic
+					this.candidateKeys[candidates] = ((long)this.candidateCosts[candidates] << 32) | candidates;
+					candidates++;
+				}
+			}
+			
+			this.peakOpenSize = Math.max(this.peakOpenSize, candidates);
+			// Keep the best k children as the next beam
+			int kept = Math.min(candidates, this.beamLimit);
+			if(candidates > kept)
+				selectSmallest(this.candidateKeys, candidates, kept);
+			if(this.beam.length < kept)
+				this.beam = Arrays.copyOf(this.beam, Math.min(this.beamLimit, Math.max(kept, 2 * this.beam.length)));
+			for(int i = 0; i < kept; i++){
+				int candidate = (int)this.candidateKeys[i];
+				StateNode parent = this.candidateParents[candidate];
+				this.beam[i] = new StateNode(this.candidateBoards[candidate], this.candidateCosts[candidate], parent.getActualCost() + 1, parent, this.candidateMoves[candidate]);
+				this.getVisitedNodes().add(this.candidateBoards[candidate]);
+			}
+			for(int i = 0; i < candidates; i++){
+				this.beamCandidates.remove(this.candidateBoards[i]);
+				this.candidateParents[i] = null;
+			}
+			if(kept < this.beamSize)
+				Arrays.fill(this.beam, kept, this.beamSize, null);
+			this.beamSize = kept;
+		}
+	}
+	
+	// Grows the candidate arrays to hold the children of the current beam, so their size follows the beams actually seen rather than k
+	private void ensureCandidateCapacity(int capacity){
+		if(this.candidateBoards.length >= capacity)
+			return;
+		capacity = Math.max(capacity, 2 * this.candidateBoards.length);
+		this.candidateBoards = Arrays.copyOf(this.candidateBoards, capacity);
+		this.candidateCosts = Arrays.copyOf(this.candidateCosts, capacity);
+		this.candidateParents = Arrays.copyOf(this.candidateParents, capacity);
+		this.candidateMoves = Arrays.copyOf(this.candidateMoves, capacity);
+		this.candidateKeys = Arrays.copyOf(this.candidateKeys, capacity);
+	}
+	
+	// Rearranges the first size keys so the k smallest come first, in linear expected time (quickselect)
+	private static void selectSmallest(long[] keys, int size, int k){
+		int left = 0;
+		int right = size - 1;
+		while(left < right){
+			long pivot = keys[(left + right) >>> 1];
+			int i = left;
+			int j = right;
+			while(i <= j){
+				while(keys[i] < pivot)
+					i++;
+				while(keys[j] > pivot)
+					j--;
+				if(i <= j){
+					long temp = keys[i];
+					keys[i++] = keys[j];
+					keys[j--] = temp;
+				}
+			}
+			// everything up to j is at most the pivot and everything from i on is at least the pivot
+			if(k - 1 <= j)
+				right = j;
+			else if(k - 1 >= i)
+				left = i;
+			else
+				return;
+		}
+	}
+
+	// this helper determines which heuristic to calculate
+	public int calculateHeuristic(long puzzle){
+		if (this.getHeuristic().equalsIgnoreCase("h3"))
+			return calculateH3(puzzle);
+		else if (this.getHeuristic().equalsIgnoreCase("h4"))
+			return calculateH4(puzzle);
+		else if (this.getHeuristic().equalsIgnoreCase("h5"))
+			return calculateH5(puzzle);
+		else
+			return sumCosts(this.heuristicCostTable(), puzzle);
+	}
+	
+	// this helper returns the per-tile cost table of the chosen heuristic, or null if it has none
+	private int[][] heuristicCostTable(){
+		if (this.getHeuristic().equalsIgnoreCase("h1"))
+			return MISPLACED_COST;
+		else if (this.getHeuristic().equalsIgnoreCase("h2"))
+			return MANHATTAN_COST;
+		else
+			return null;
+	}
+	
+	// calculates number of tiles that are misplaced, not counting the blank
+	public static int calculateH1(long puzzle){
+		return sumCosts(MISPLACED_COST, puzzle);
+	}
+	
+	// calculates Manhattan distance between each tile's current position and goal position, not counting the blank
+	public static int calculateH2(long puzzle){
+		return sumCosts(MANHATTAN_COST, puzzle);
+	}
+	
+	// looks up the additive pattern database cost of tiles 1-4 plus tiles 5-8
+	public static int calculateH3(long puzzle){
+		return PatternDatabase.getInstance().lookup(puzzle);
+	}
+	
+	// calculates Manhattan distance plus the moves needed to get tiles in their goal row or column past each other
+	public static int calculateH4(long puzzle){
+		return sumCosts(MANHATTAN_COST, puzzle) + LineTables.linearConflicts(puzzle);
+	}
+	
+	// looks up the walking distance, the fewest moves to get every tile to its goal row plus to its goal column
+	public static int calculateH5(long puzzle){
+		return LineTables.walkingDistance(puzzle);
+	}
+	
+	// adds up the cost of every tile in its current cell
+	private static int sumCosts(int[][] costTable, long puzzle){
+		int cost = 0;
+		for(int cell = 0; cell < PackedBoard.CELLS; cell++){
+			cost += costTable[PackedBoard.tileAt(puzzle, cell)][cell];
+		}
+		return cost;
+	}
+	
+	// Returns whether the name is one of the supported heuristics
+	public static boolean isHeuristic(String heuristic){
+		return heuristic.equalsIgnoreCase("h1") || heuristic.equalsIgnoreCase("h2") || heuristic.equalsIgnoreCase("h3") || heuristic.equalsIgnoreCase("h4") || heuristic.equalsIgnoreCase("h5");
+	}
+	
+	public boolean setHeuristic(String heuristic){
+		if(isHeuristic(heuristic)){
+			this.heuristic = heuristic;
+			return true;
+		}
+		else
+			return false;
+		
+	}
+	
+	public String getHeuristic(){
+		return this.heuristic;
+	}
+	
+	// Chooses the open list implementation, either a binary "heap" or integer cost "bucket" queue
+	public boolean setOpenList(String type){
+		if(type.equalsIgnoreCase("heap"))
+			this.explorableNodes = new HeapOpenList();
+		else if(type.equalsIgnoreCase("bucket"))
+			this.explorableNodes = new BucketOpenList();
+		else if(type.equalsIgnoreCase("indexed"))
+			this.explorableNodes = new IndexedOpenList();
+		else
+			return false;
+		return true;
+	}
+	
+	public void setExplorableNodes(OpenList nodes){
+		this.explorableNodes = nodes;
+	}
+	
+	public OpenList getExplorableNodes(){
+		return this.explorableNodes;
+	}
+
+
+	public ClosedSet getVisitedNodes() {
+		return this.visitedNodes;
+	}
+
+
+	public void setVisitedNodes(ClosedSet visitedNodes) {
+		this.visitedNodes = visitedNodes;
+	}
+
+	// Returns the move codes of the last solution found, empty if there was none
+	public byte[] getSolutionMoves() {
+		return this.solutionMoves;
+	}
+	
+	// Returns the moves of the last solution found in text form
+	public String getSolutionPath() {
+		return PackedBoard.toPath(this.solutionMoves);
+	}
+
+	// Returns the threshold used by each iteration of the last IDA* search
+	public List<Integer> getIterationThresholds() {
+		return this.iterationThresholds;
+	}
+	
+	// Returns the nodes explored by each iteration of the last IDA* search
+	public List<Integer> getIterationNodes() {
+		return this.iterationNodes;
+	}
+
+	public boolean isSolved() {
+		return solved;
+	}
+
+	public void setSolved(boolean solved) {
+		this.solved = solved;
+	}
+	
+	public int getMaxNodes(){
+		return this.maxNodes;
+	}
+	
+	public void setMaxNodes(int maxNodes){
+		this.maxNodes = maxNodes;
+	}
+	
+	public int getNodesExplored(){
+		return this.nodesExplored;
+	}
+	
+	public void setNodesExplored(int nodesExplored){
+		this.nodesExplored = nodesExplored;
+	}
+	
+	public long getNodesGenerated(){
+		return this.nodesGenerated;
+	}
+	
+	public long getDuplicates(){
+		return this.duplicates;
+	}
+	
+	public int getPeakOpenSize(){
+		return this.peakOpenSize;
+	}
+	
+	public SolutionCache getSolutionCache(){
+		return this.solutionCache;
+	}
+	
+	// Sets the cache used by searches run through search, null to never use one
+	public void setSolutionCache(SolutionCache solutionCache){
+		this.solutionCache = solutionCache;
+	}
+	
+	// Returns the counters of the last search run through search, or null if there has not been one
+	public SearchRecord getLastSearch(){
+		return this.lastSearch;
+	}
+	
+	// Returns how many times the optimal cost the last anytime solution can be at most, 1 once it is proven optimal
+	public double getSuboptimalityBound(){
+		return this.suboptimalityBound;
+	}
+	
+	// Stops a running anytime search at its next node, keeping the best solution it has found
+	public void cancel(){
+		this.cancelled.set(true);
+	}
+	
+	public int getBeamLimit(){
+		return this.beamLimit;
+	}
+	
+	public void setBeamLimit(int beamLimit){
+		this.beamLimit = beamLimit;
+	}
+}
@@ -0,0 +1,167 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the row and column lookup tables behind the linear conflict (h4) and walking distance (h5) heuristics.
+ * Every table is keyed by the contents of one row or column packed like the board, 4 bits per cell in order, so a row's key
+ * is 12 contiguous bits of the board and a column's key gathers 3 cells. The tables are small and built when the class loads*/
+package eightpuzzle;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+public final class LineTables {
+	private static final int SIZE = PackedBoard.SIZE;
+	private static final int LINE_KEYS = 1 << (4 * SIZE);
+	private static final int LINE_MASK = LINE_KEYS - 1;
+
+	/* ROW_CONFLICTS[row][key] and COLUMN_CONFLICTS[col][key] are the moves Manhattan distance misses in that line:
+	 * tiles already in their goal line but in the wrong order must leave the line and come back, 2 extra moves for each
+	 * tile outside the longest run that is in order. Rows and columns count different moves, so both add to Manhattan distance*/
+	private static final byte[][] ROW_CONFLICTS = new byte[SIZE][LINE_KEYS];
+	private static final byte[][] COLUMN_CONFLICTS = new byte[SIZE][LINE_KEYS];
+
+	/* Walking distance relaxes the puzzle to which line each tile is in. ROW_COUNTS[key] and COLUMN_COUNTS[key] count the
+	 * tiles of the line by goal row (or goal column), 2 bits per count, and WALKING_DISTANCE is indexed by the three lines'
+	 * counts and the blank's line. It holds the fewest moves of the blank between neighboring lines, each swapping it with
+	 * a tile, to reach the goal counts. Vertical moves only change the row counts and horizontal ones only the columns, so
+	 * the row and column distances add up without overestimating*/
+	private static final int COUNT_BITS = 2 * SIZE;
+	private static final byte[] ROW_COUNTS = new byte[LINE_KEYS];
+	private static final byte[] COLUMN_COUNTS = new byte[LINE_KEYS];
+	private static final byte[] WALKING_DISTANCE = new byte[1 << (SIZE * COUNT_BITS + 2)];
+
+	static{
+		for(int key = 0; key < LINE_KEYS; key++){
+			for(int line = 0; line < SIZE; line++){
+				ROW_CONFLICTS[line][key] = (byte)lineConflicts(key, line, true);
+				COLUMN_CONFLICTS[line][key] = (byte)lineConflicts(key, line, false);
+			}
+			int rowCounts = 0;
+			int columnCounts = 0;
+			for(int i = 0; i < SIZE; i++){
+				int tile = (key >>> (4 * i)) & 0xF;
+				if(tile != 0 && tile < PackedBoard.CELLS){
+					rowCounts += 1 << (2 * (tile / SIZE));
+					columnCounts += 1 << (2 * (tile % SIZE));
+				}
+			}
+			ROW_COUNTS[key] = (byte)rowCounts;
+			COLUMN_COUNTS[key] = (byte)columnCounts;
+		}
+		generateWalkingDistances();
+	}
+
+	private LineTables(){
+	}
+
+	// Returns the extra moves linear conflicts add to Manhattan distance for the board
+	public static int linearConflicts(long board){
+		int conflicts = 0;
+		for(int line = 0; line < SIZE; line++){
+			conflicts += ROW_CONFLICTS[line][rowKey(board, line)] + COLUMN_CONFLICTS[line][columnKey(board, line)];
+		}
+		return conflicts;
+	}
+
+	// Returns the walking distance of the board, the sum of its row and column distances
+	public static int walkingDistance(long board){
+		int rowIndex = 0;
+		int columnIndex = 0;
+		for(int line = SIZE - 1; line >= 0; line--){
+			rowIndex = (rowIndex << COUNT_BITS) | ROW_COUNTS[rowKey(board, line)];
+			columnIndex = (columnIndex << COUNT_BITS) | COLUMN_COUNTS[columnKey(board, line)];
+		}
+		int blank = PackedBoard.blankIndex(board);
+		return WALKING_DISTANCE[(rowIndex << 2) | blank / SIZE] + WALKING_DISTANCE[(columnIndex << 2) | blank % SIZE];
+	}
+
+	// Returns the packed contents of the row, which are already contiguous in the board
+	private static int rowKey(long board, int row){
+		return (int)(board >>> (4 * SIZE * row)) & LINE_MASK;
+	}
+
+	// Gathers the packed contents of the column, top cell in the lowest bits
+	private static int columnKey(long board, int col){
+		int key = 0;
+		for(int i = 0; i < SIZE; i++){
+			key |= PackedBoard.tileAt(board, i * SIZE + col) << (4 * i);
+		}
+		return key;
+	}
+
+	// Counts the extra moves for the tiles of a line that belong in it, from the longest run of them in goal order
+	private static int lineConflicts(int key, int line, boolean row){
+		int[] goalPositions = new int[SIZE];
+		int count = 0;
+		for(int i = 0; i < SIZE; i++){
+			int tile = (key >>> (4 * i)) & 0xF;
+			if(tile == 0 || tile >= PackedBoard.CELLS)
+				continue;
+			if((row ? tile / SIZE : tile % SIZE) == line)
+				goalPositions[count++] = row ? tile % SIZE : tile / SIZE;
+		}
+		// longest increasing subsequence of the goal positions
+		int[] longestEndingAt = new int[count];
+		int longest = 0;
+		for(int i = 0; i < count; i++){
+			longestEndingAt[i] = 1;
+			for(int j = 0; j < i; j++){
+				if(goalPositions[j] < goalPositions[i])
+					longestEndingAt[i] = Math.max(longestEndingAt[i], longestEndingAt[j] + 1);
+			}
+			longest = Math.max(longest, longestEndingAt[i]);
+		}
+		return 2 * (count - longest);
+	}
+
+	// Runs a breadth first search from the goal counts over the line counts and blank line
+	private static void generateWalkingDistances(){
+		Arrays.fill(WALKING_DISTANCE, Byte.MAX_VALUE);
+		int[] counts = new int[SIZE * SIZE];		// counts[line * SIZE + goalLine]
+		for(int tile = 1; tile < PackedBoard.CELLS; tile++){
+			counts[(tile / SIZE) * SIZE + tile / SIZE]++;
+		}
+		int goal = (encodeCounts(counts) << 2) | 0;
+		WALKING_DISTANCE[goal] = 0;
+		ArrayDeque<Integer> frontier = new ArrayDeque<Integer>();
+		frontier.add(goal);
+		while(!frontier.isEmpty()){
+			int state = frontier.poll();
+			int blankLine = state & 3;
+			decodeCounts(state >>> 2, counts);
+			// the blank trades places with a tile of a neighboring line, whichever goal line that tile has
+			for(int nextLine = blankLine - 1; nextLine <= blankLine + 1; nextLine += 2){
+				if(nextLine < 0 || nextLine >= SIZE)
+					continue;
+				for(int goalLine = 0; goalLine < SIZE; goalLine++){
+					if(counts[nextLine * SIZE + goalLine] == 0)
+						continue;
+					counts[nextLine * SIZE + goalLine]--;
+					counts[blankLine * SIZE + goalLine]++;
+					int next = (encodeCounts(counts) << 2) | nextLine;
+					if(WALKING_DISTANCE[next] == Byte.MAX_VALUE){
+						WALKING_DISTANCE[next] = (byte)(WALKING_DISTANCE[state] + 1);
+						frontier.add(next);
+					}
+					counts[blankLine * SIZE + goalLine]--;
+					counts[nextLine * SIZE + goalLine]++;
+				}
+			}
+		}
+	}
+
+	// Packs the counts like ROW_COUNTS does, line 0 in the lowest bits
+	private static int encodeCounts(int[] counts){
+		int index = 0;
+		for(int line = SIZE - 1; line >= 0; line--){
+			for(int goalLine = SIZE - 1; goalLine >= 0; goalLine--){
+				index = (index << 2) | counts[line * SIZE + goalLine];
+			}
+		}
+		return index;
+	}
+
+	private static void decodeCounts(int index, int[] counts){
+		for(int i = 0; i < counts.length; i++){
+			counts[i] = (index >>> (2 * i)) & 3;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a simplified memory-bounded A* (SMA*) over NxN sliding puzzles with the Manhattan distance heuristic.
+ * The search tree is kept in memory up to a byte budget. Before each expansion, the worst leaves (highest f, then shallowest)
+ * are pruned until the new children fit, and each pruned f is remembered by its parent, which goes back on the open list
+ * to regenerate the forgotten children at that backed-up f. Expanding a node backs the lowest f of its children up through
+ * its ancestors. The search stays optimal as long as the budget holds an optimal path, and reports failure instead of growing
+ * past it otherwise. Memory is counted from an estimated size per stored node rather than measured from the heap*/
+package eightpuzzle;
+import java.util.Comparator;
+import java.util.TreeSet;
+public class MemoryBoundedSearch {
+	private static final int INFINITE_COST = Integer.MAX_VALUE;
+	// Estimated bytes per node on a 64-bit JVM with compressed references: the node itself, its array of up to
+	// 4 children and its entries in the open list and leaf set, plus the packed key (16 byte header and 8 bytes per long)
+	private static final int NODE_OVERHEAD = 64 + 32 + 2 * 40;
+	// children generated by one expansion at most, which must fit beside the path to the node expanded
+	private static final int MAX_CHILDREN = 4;
+
+	private SlidingBoard geometry;
+	private long budgetBytes;
+	private int maxNodes;
+	private int nodeBytes;
+	private int capacity;							// most nodes the budget can hold
+	// nodes with children not in memory, by the f they regenerate them at, then deepest, then newest
+	private TreeSet<Node> open = new TreeSet<Node>(Comparator.<Node>comparingInt(node -> node.openCost)
+			.thenComparing(Comparator.<Node>comparingInt(node -> node.actualCost).reversed())
+			.thenComparing(Comparator.<Node>comparingLong(node -> node.id).reversed()));
+	// nodes with no children in memory, by f, then deepest, then newest, so the last is pruned next
+	private TreeSet<Node> leaves = new TreeSet<Node>(Comparator.<Node>comparingInt(node -> node.totalCost)
+			.thenComparing(Comparator.<Node>comparingInt(node -> node.actualCost).reversed())
+			.thenComparing(Comparator.<Node>comparingLong(node -> node.id).reversed()));
+	private long nextId = 0;
+	private int storedNodes = 0;
+	private int peakStoredNodes = 0;
+	private int nodesExplored = 0;
+	private long nodesGenerated = 0;
+	private long nodesPruned = 0;
+	private int pathLength = 0;
+	private byte[] solutionMoves = new byte[0];
+	public boolean printToConsole = true;
+
+	// This class represents one node of the search tree in memory
+	private static final class Node {
+		final long[] key;
+		final int actualCost;
+		final int heuristicCost;
+		int totalCost;								// f backed up from the children, the lowest cost of a solution below
+		int openCost;								// f the children not in memory are regenerated at, INFINITE_COST if none are missing
+		final Node parent;
+		final byte lastMove;
+		final long id;
+		final Node[] children = new Node[MAX_CHILDREN];
+		int childCount;
+
+		Node(long[] key, int actualCost, int heuristicCost, int totalCost, Node parent, int lastMove, long id){
+			this.key = key;
+			this.actualCost = actualCost;
+			this.heuristicCost = heuristicCost;
+			this.totalCost = totalCost;
+			this.openCost = totalCost;
+			this.parent = parent;
+			this.lastMove = (byte)lastMove;
+			this.id = id;
+		}
+
+		boolean hasChild(int move){
+			for(int i = 0; i < this.childCount; i++){
+				if(this.children[i].lastMove == move)
+					return true;
+			}
+			return false;
+		}
+
+		void removeChild(Node child){
+			for(int i = 0; i < this.childCount; i++){
+				if(this.children[i] == child){
+					this.children[i] = this.children[--this.childCount];
+					this.children[this.childCount] = null;
+					return;
+				}
+			}
+		}
+	}
+
+	// 3-arg constructor to initialize the search for one board size, memory budget and node budget
+	public MemoryBoundedSearch(SlidingBoard geometry, long budgetBytes, int maxNodes){
+		this.geometry = geometry;
+		this.budgetBytes = budgetBytes;
+		this.maxNodes = maxNodes;
+		this.nodeBytes = NODE_OVERHEAD + 16 + 8 * geometry.pack(geometry.goal()).length;
+		this.capacity = (int)Math.min(Integer.MAX_VALUE, budgetBytes / this.nodeBytes);
+	}
+
+	/** This method is an SMA* search using the Manhattan distance heuristic
+	 * @param initialKey  packed initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean search(long[] initialKey){
+		this.open.clear();
+		this.leaves.clear();
+		this.storedNodes = 0;
+		this.peakStoredNodes = 0;
+		this.nodesExplored = 0;
+		this.nodesGenerated = 0;
+		this.nodesPruned = 0;
+		this.pathLength = 0;
+		this.solutionMoves = new byte[0];
+		byte[] tiles = this.geometry.unpack(initialKey);
+		if(!this.geometry.isSolvable(tiles)){
+			if(printToConsole)
+				System.out.println("No SMA* solution found: Invalid starting state\n");
+			return false;
+		}
+		if(this.capacity <= MAX_CHILDREN){
+			if(printToConsole)
+				System.out.println("No SMA* solution found: Memory budget holds fewer than " + (MAX_CHILDREN + 1) + " nodes of " + this.nodeBytes + " bytes\n");
+			return false;
+		}
+		int heuristicCost = this.geometry.manhattan(tiles);
+		Node root = new Node(initialKey, 0, heuristicCost, heuristicCost, null, -1, this.nextId++);
+		this.open.add(root);
+		this.leaves.add(root);
+		this.storedNodes = 1;
+		this.peakStoredNodes = 1;
+
+		while(true){
+			Node best = this.open.pollFirst();
+			// Checks if every path left is deeper than the budget can hold
+			if(best.openCost == INFINITE_COST){
+				if(printToConsole)
+					System.out.println("No SMA* solution found: Exceeded memory budget of " + this.budgetBytes + " bytes\n");
+				return false;
+			}
+			// Checks if we reached the goal, which is optimal since every path not in memory is behind an open node of lower f
+			if(best.heuristicCost == 0){
+				this.solutionMoves = new byte[best.actualCost];
+				for(Node node = best; node.parent != null; node = node.parent){
+					this.solutionMoves[node.actualCost - 1] = node.lastMove;
+				}
+				this.pathLength = best.actualCost;
+				if(printToConsole){
+					System.out.println("SMA* h2 Solution Found in " + this.pathLength + " moves.\n" +
+							"Solution from initial state: " + PackedBoard.toPath(this.solutionMoves) + "\n" +
+							"Nodes explored for search: " + this.nodesExplored + "\n" +
+							"Peak memory: " + this.getPeakBytes() + " of " + this.budgetBytes + " bytes (" + this.peakStoredNodes + " nodes, " + this.nodesPruned + " pruned)\n");
+				}
+				return true;
+			}
+			// Checks if too many nodes have been expanded - exit early
+			if(++this.nodesExplored > this.maxNodes){
+				if(printToConsole)
+					System.out.println("No SMA* solution found: Exceeded maxnodes\n");
+				return false;
+			}
+
+			// the node expanded cannot be pruned to make room for its own children, though its children can
+			this.leaves.remove(best);
+			this.prune(MAX_CHILDREN);
+			this.open.remove(best);
+			this.leaves.remove(best);
+			this.expand(best);
+			if(best.childCount == 0)
+				this.leaves.add(best);
+			this.backUp(best);
+			this.peakStoredNodes = Math.max(this.peakStoredNodes, this.storedNodes);
+		}
+	}
+
+	// Regenerates the children not in memory but the one undoing the last move, giving each at least the f they were forgotten at
+	private void expand(Node node){
+		byte[] tiles = this.geometry.unpack(node.key);
+		int blank = SlidingBoard.blankIndex(tiles);
+		for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+			int target = this.geometry.neighborCell(blank, move);
+			if(target < 0 || move == PackedBoard.inverse(node.lastMove) || node.hasChild(move))
+				continue;
+			int tile = tiles[target];
+			tiles[blank] = (byte)tile;
+			tiles[target] = 0;
+			long[] childKey = this.geometry.pack(tiles);
+			tiles[target] = (byte)tile;
+			tiles[blank] = 0;
+
+			int actualCost = node.actualCost + 1;
+			int heuristicCost = node.heuristicCost + this.geometry.manhattanCost(tile, blank) - this.geometry.manhattanCost(tile, target);
+			int totalCost = Math.max(node.openCost, actualCost + heuristicCost);
+			// expanding this child could not fit its children beside its path, so it can only be a solution if it is the goal
+			if(heuristicCost != 0 && actualCost + 1 + MAX_CHILDREN > this.capacity)
+				totalCost = INFINITE_COST;
+			Node child = new Node(childKey, actualCost, heuristicCost, totalCost, node, move, this.nextId++);
+			node.children[node.childCount++] = child;
+			this.open.add(child);
+			this.leaves.add(child);
+			this.storedNodes++;
+			this.nodesGenerated++;
+		}
+		node.openCost = INFINITE_COST;
+	}
+
+	// Sets the f of the node and its ancestors to the lowest f below them, stopping once one does not change
+	private void backUp(Node node){
+		for(; node != null; node = node.parent){
+			int lowest = node.openCost;
+			for(int i = 0; i < node.childCount; i++){
+				lowest = Math.min(lowest, node.children[i].totalCost);
+			}
+			if(lowest == node.totalCost)
+				return;
+			this.leaves.remove(node);
+			node.totalCost = lowest;
+			if(node.childCount == 0)
+				this.leaves.add(node);
+		}
+	}
+
+	// Prunes the worst leaves until the given number of new nodes fits the budget, putting their parents back on the open list
+	private void prune(int newNodes){
+		while(this.storedNodes + newNodes > this.capacity && !this.leaves.isEmpty()){
+			Node worst = this.leaves.pollLast();
+			this.open.remove(worst);
+			Node parent = worst.parent;
+			parent.removeChild(worst);
+			this.open.remove(parent);
+			parent.openCost = Math.min(parent.openCost, worst.totalCost);
+			this.open.add(parent);
+			if(parent.childCount == 0)
+				this.leaves.add(parent);
+			this.storedNodes--;
+			this.nodesPruned++;
+		}
+	}
+
+	public int getNodesExplored(){
+		return this.nodesExplored;
+	}
+
+	public long getNodesGenerated(){
+		return this.nodesGenerated;
+	}
+
+	public long getNodesPruned(){
+		return this.nodesPruned;
+	}
+
+	public int getPeakStoredNodes(){
+		return this.peakStoredNodes;
+	}
+
+	// Returns the estimated bytes of the most nodes stored at once
+	public long getPeakBytes(){
+		return (long)this.peakStoredNodes * this.nodeBytes;
+	}
+
+	public int getPathLength(){
+		return this.pathLength;
+	}
+
+	public byte[] getSolutionMoves(){
+		return this.solutionMoves;
+	}
+}
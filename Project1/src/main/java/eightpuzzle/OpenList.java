@@ -0,0 +1,33 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This interface represents the list of discovered StateNodes waiting to be expanded*/
+package eightpuzzle;
+import java.util.Collection;
+public interface OpenList {
+	
+	// Adds a node to the list, returning false if the list dropped it as a duplicate
+	boolean add(StateNode node);
+	
+	// Adds every node in the collection to the list, returning how many were dropped as duplicates
+	default int addAll(Collection<StateNode> nodes){
+		int dropped = 0;
+		for(StateNode node : nodes){
+			if(!this.add(node))
+				dropped++;
+		}
+		return dropped;
+	}
+	
+	// Removes and returns the best node, or null if the list is empty
+	StateNode poll();
+	
+	// Removes every node from the list
+	void clear();
+	
+	int size();
+	
+	default boolean isEmpty(){
+		return this.size() == 0;
+	}
+}
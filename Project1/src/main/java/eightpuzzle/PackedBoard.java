@@ -0,0 +1,168 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class packs a 3x3 puzzle board into a single long and provides the operations on it.
+ * Bits 0-35 hold the nine tiles (4 bits per cell, cell 0 in the lowest bits) and bits 36-39 hold the blank index*/
+package eightpuzzle;
+import java.util.Random;
+public final class PackedBoard {
+	public static final int SIZE = 3;
+	public static final int CELLS = SIZE * SIZE;
+	public static final int BLANK_SHIFT = 4 * CELLS;
+	public static final long TILE_MASK = (1L << BLANK_SHIFT) - 1;
+	public static final long INVALID = -1L;
+	// Number of states reachable from the goal, which is half of the 9! tile arrangements
+	public static final int REACHABLE_STATES = 181440;
+
+	// Move codes, in the order children are generated
+	public static final int UP = 0;
+	public static final int DOWN = 1;
+	public static final int LEFT = 2;
+	public static final int RIGHT = 3;
+	public static final String[] MOVE_NAMES = {"up", "down", "left", "right"};
+
+	public static final long GOAL = fromString("b12345678");
+
+	// NEIGHBORS[cell][move] is the cell the blank slides into, or -1 if the move leaves the board
+	private static final int[][] NEIGHBORS = new int[CELLS][4];
+
+	static{
+		for(int cell = 0; cell < CELLS; cell++){
+			int row = cell / SIZE;
+			int col = cell % SIZE;
+			NEIGHBORS[cell][UP] = row > 0 ? cell - SIZE : -1;
+			NEIGHBORS[cell][DOWN] = row < SIZE - 1 ? cell + SIZE : -1;
+			NEIGHBORS[cell][LEFT] = col > 0 ? cell - 1 : -1;
+			NEIGHBORS[cell][RIGHT] = col < SIZE - 1 ? cell + 1 : -1;
+		}
+	}
+
+	private PackedBoard(){
+	}
+
+	// Builds a packed board from a 9 character string of tiles, with 'b' as the blank
+	public static long fromString(String state){
+		long board = 0;
+		int blank = 0;
+		for(int i = 0; i < CELLS; i++){
+			if(state.charAt(i) == 'b')
+				blank = i;
+			else
+				board |= (long)Character.getNumericValue(state.charAt(i)) << (4 * i);
+		}
+		return board | ((long)blank << BLANK_SHIFT);
+	}
+
+	// Returns the tile in the given cell, with 0 as the blank
+	public static int tileAt(long board, int cell){
+		return (int)(board >>> (4 * cell)) & 0xF;
+	}
+
+	// Returns the tiles of the board one per cell, the layout SlidingBoard uses for a 3x3 board
+	public static byte[] toTiles(long board){
+		byte[] tiles = new byte[CELLS];
+		for(int cell = 0; cell < CELLS; cell++){
+			tiles[cell] = (byte)tileAt(board, cell);
+		}
+		return tiles;
+	}
+
+	// Returns the index of the blank cell
+	public static int blankIndex(long board){
+		return (int)(board >>> BLANK_SHIFT) & 0xF;
+	}
+
+	// Returns the cell the blank would slide into for a move, or -1 if the move is not possible
+	public static int neighbor(long board, int move){
+		return NEIGHBORS[blankIndex(board)][move];
+	}
+
+	// Returns the cell next to the given cell in the move's direction, or -1 if it is off the board
+	public static int neighborCell(int cell, int move){
+		return NEIGHBORS[cell][move];
+	}
+
+	// Slides the blank in the given direction, returning INVALID if it is not a legal move
+	public static long move(long board, int move){
+		int blank = blankIndex(board);
+		int target = NEIGHBORS[blank][move];
+		if(target < 0)
+			return INVALID;
+		return slide(board, blank, target);
+	}
+
+	// Slides the tile in the target cell into the blank cell next to it, leaving the blank in the target cell
+	public static long slide(long board, int blank, int target){
+		long tile = (board >>> (4 * target)) & 0xF;
+		board &= ~(0xFL << (4 * target));
+		board |= tile << (4 * blank);
+		return (board & TILE_MASK) | ((long)target << BLANK_SHIFT);
+	}
+
+	// Returns whether the goal can be reached from the board, which is when the tiles have an even number of inversions
+	public static boolean isSolvable(long board){
+		int inversions = 0;
+		int seenTiles = 0;
+		for(int cell = 0; cell < CELLS; cell++){
+			int tile = tileAt(board, cell);
+			if(tile != 0){
+				// count the tiles already seen that are larger than this one
+				inversions += Integer.bitCount(seenTiles >>> tile);
+				seenTiles |= 1 << tile;
+			}
+		}
+		return (inversions & 1) == 0;
+	}
+
+	/* Returns the permutation rank (Lehmer code) of a solvable board, in the range [0, REACHABLE_STATES).
+	 * The code is taken over the cell of each tile, so the last digit records the order of tiles 7 and 8.
+	 * Swapping those two tiles makes the board unsolvable, so dropping that digit keeps every solvable rank unique*/
+	public static int rank(long board){
+		// cell of each tile, packed 4 bits per tile like the board itself
+		long cellOfTile = 0;
+		for(int cell = 0; cell < CELLS; cell++){
+			cellOfTile |= (long)cell << (4 * tileAt(board, cell));
+		}
+		int rank = 0;
+		int seenCells = 0;
+		for(int tile = 0; tile < CELLS; tile++){
+			int cell = tileAt(cellOfTile, tile);
+			rank = rank * (CELLS - tile) + cell - Integer.bitCount(seenCells & ((1 << cell) - 1));
+			seenCells |= 1 << cell;
+		}
+		return rank >>> 1;
+	}
+
+	// Returns the move that undoes the given move
+	public static int inverse(int move){
+		return move ^ 1;
+	}
+
+	// Makes random moves from the board, moving the other way whenever a move would leave the board
+	public static long scramble(long board, int moves, Random moveGenerator){
+		for(int count = 0; count < moves; count++){
+			int nextMove = moveGenerator.nextInt(4);
+			long next = move(board, nextMove);
+			board = next != INVALID ? next : move(board, inverse(nextMove));
+		}
+		return board;
+	}
+
+	// Converts a sequence of move codes to the space separated text form used by the console
+	public static String toPath(byte[] moves){
+		StringBuilder path = new StringBuilder(moves.length * 6);
+		for(byte move : moves){
+			path.append(MOVE_NAMES[move]).append(' ');
+		}
+		return path.toString();
+	}
+
+	// Converts a direction name to its move code, or -1 if it is not a direction
+	public static int moveCode(String direction){
+		for(int i = 0; i < MOVE_NAMES.length; i++){
+			if(MOVE_NAMES[i].equals(direction))
+				return i;
+		}
+		return -1;
+	}
+}
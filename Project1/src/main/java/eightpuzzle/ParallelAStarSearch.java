@@ -0,0 +1,411 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a hash distributed parallel A* (HDA*) over NxN sliding puzzles with the Manhattan distance heuristic.
+ * Every state is owned by one worker, picked from the hash of its packed key, and only its owner keeps its cost or expands it.
+ * Each worker has its own open list and table of best costs, so no locks are shared. Children owned by another worker are
+ * batched and sent to the owner's mailbox, a lock-free queue with many senders and one reader.
+ * The first goal found is only an incumbent. Workers keep expanding until no open node anywhere has a lower f. That is
+ * detected with one counter of active workers plus messages in flight: a worker leaving no work behind takes itself off,
+ * and an idle worker that receives a message takes over that message's count, so the counter reaches 0 only once every
+ * worker is idle and every mailbox is empty. Idle workers park until a message is sent to them or the search ends. The incumbent is then optimal, and the path is traced back through the
+ * owners' tables. Only boards whose key fits in one long (up to 4x4) are supported*/
+package eightpuzzle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+public class ParallelAStarSearch {
+	// children in one message, and nodes a worker expands between checks of its mailbox
+	private static final int BATCH_SIZE = 256;
+	private static final int SLICE_SIZE = 64;
+	// A table value holds the best g found, the h and the move that reached the state, and whether it has been expanded
+	private static final int COST_MASK = 0x3FF;
+	private static final int HEURISTIC_SHIFT = 10;
+	private static final int MOVE_SHIFT = 20;
+	private static final int CLOSED = 1 << 22;
+
+	private final SlidingBoard geometry;
+	private final int threads;
+	private final long maxNodes;
+	private Worker[] workers;
+	private final AtomicInteger incumbent = new AtomicInteger(Integer.MAX_VALUE);
+	private final AtomicLong pending = new AtomicLong();		// active workers plus messages not yet read
+	private final AtomicLong expansions = new AtomicLong();
+	private volatile boolean done;
+	private volatile boolean aborted;
+	private long nodesExplored = 0;
+	private long nodesGenerated = 0;
+	private long duplicates = 0;
+	private int peakOpenSize = 0;
+	private int pathLength = 0;
+	private byte[] solutionMoves = new byte[0];
+	public boolean printToConsole = true;
+
+	// 3-arg constructor to initialize the search for one board size, number of workers (at most one per core) and node budget
+	public ParallelAStarSearch(SlidingBoard geometry, int threads, long maxNodes){
+		if(geometry.getKeyLength() != 1)
+			throw new IllegalArgumentException("Parallel A* only supports boards up to 4x4");
+		this.geometry = geometry;
+		// more workers than cores would only take turns on them
+		this.threads = Math.max(1, Math.min(threads, Runtime.getRuntime().availableProcessors()));
+		this.maxNodes = maxNodes;
+	}
+
+	/** This method is an HDA* search using the Manhattan distance heuristic
+	 * @param initialKey  packed initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean search(long[] initialKey){
+		this.nodesExplored = 0;
+		this.nodesGenerated = 0;
+		this.duplicates = 0;
+		this.peakOpenSize = 0;
+		this.pathLength = 0;
+		this.solutionMoves = new byte[0];
+		byte[] tiles = this.geometry.unpack(initialKey);
+		if(!this.geometry.isSolvable(tiles)){
+			if(printToConsole)
+				System.out.println("No HDA* solution found: Invalid starting state\n");
+			return false;
+		}
+		this.incumbent.set(Integer.MAX_VALUE);
+		this.expansions.set(0);
+		this.pending.set(this.threads);
+		this.done = false;
+		this.aborted = false;
+		this.workers = new Worker[this.threads];
+		for(int i = 0; i < this.threads; i++){
+			this.workers[i] = new Worker(i);
+		}
+		this.owner(initialKey[0]).insert(initialKey[0], this.geometry.manhattan(tiles) << HEURISTIC_SHIFT);
+
+		Thread[] running = new Thread[this.threads];
+		for(int i = 0; i < this.threads; i++){
+			running[i] = new Thread(this.workers[i], "hda-worker-" + i);
+			this.workers[i].thread = running[i];
+		}
+		for(int i = 0; i < this.threads; i++){
+			running[i].start();
+		}
+		try{
+			for(Thread thread : running){
+				thread.join();
+			}
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			this.aborted = true;
+			this.finish();
+		}
+
+		long[] workerExpansions = new long[this.threads];
+		for(int i = 0; i < this.threads; i++){
+			workerExpansions[i] = this.workers[i].expanded;
+			this.nodesExplored += this.workers[i].expanded;
+			this.nodesGenerated += this.workers[i].generated;
+			this.duplicates += this.workers[i].duplicates;
+			this.peakOpenSize += this.workers[i].peakOpenSize;
+		}
+		// Checks if too many nodes were expanded, or the search was interrupted - exit early
+		if(this.aborted || this.incumbent.get() == Integer.MAX_VALUE){
+			if(printToConsole)
+				System.out.println("No HDA* solution found: " + (this.aborted ? "Exceeded maxnodes" : "Goal state is unreachable") + "\n");
+			this.workers = null;
+			return false;
+		}
+		this.solutionMoves = this.tracePath(this.geometry.pack(this.geometry.goal())[0]);
+		this.pathLength = this.solutionMoves.length;
+		this.workers = null;
+		if(printToConsole){
+			System.out.println("HDA* h2 Solution Found in " + this.pathLength + " moves.\n" +
+					"Solution from initial state: " + PackedBoard.toPath(this.solutionMoves) + "\n" +
+					"Nodes explored for search: " + this.nodesExplored + "\n" +
+					"Nodes explored by each of " + this.threads + " threads: " + Arrays.toString(workerExpansions) + "\n");
+		}
+		return true;
+	}
+
+	// Follows the moves stored with each state back from the goal to the initial state, which is the only one with g of 0
+	private byte[] tracePath(long goal){
+		List<Byte> reversed = new ArrayList<Byte>();
+		long[] key = {goal};
+		int value = this.owner(goal).get(goal);
+		while((value & COST_MASK) != 0){
+			int move = (value >>> MOVE_SHIFT) & 3;
+			reversed.add((byte)move);
+			byte[] tiles = this.geometry.unpack(key);
+			this.geometry.move(tiles, PackedBoard.inverse(move));
+			key = this.geometry.pack(tiles);
+			value = this.owner(key[0]).get(key[0]);
+		}
+		byte[] moves = new byte[reversed.size()];
+		for(int i = 0; i < moves.length; i++){
+			moves[i] = reversed.get(moves.length - 1 - i);
+		}
+		return moves;
+	}
+
+	// Ends the search, waking every parked worker so it sees the search is done
+	private void finish(){
+		this.done = true;
+		for(Worker worker : this.workers){
+			LockSupport.unpark(worker.thread);
+		}
+	}
+
+	// Picks the owner from the high bits of the hash, since each owner's table uses the low bits for its slots
+	private Worker owner(long key){
+		return this.workers[(int)(((StateMap.hash(key) & 0xFFFFFFFFL) * this.threads) >>> 32)];
+	}
+
+	public long getNodesExplored(){
+		return this.nodesExplored;
+	}
+
+	public long getNodesGenerated(){
+		return this.nodesGenerated;
+	}
+
+	public long getDuplicates(){
+		return this.duplicates;
+	}
+
+	// Returns the sum of the largest open list of each worker
+	public int getPeakOpenSize(){
+		return this.peakOpenSize;
+	}
+
+	public int getPathLength(){
+		return this.pathLength;
+	}
+
+	public byte[] getSolutionMoves(){
+		return this.solutionMoves;
+	}
+
+	// This class represents one worker, with the open list, table and mailbox for the states it owns
+	private final class Worker implements Runnable {
+		private final int index;
+		private final ConcurrentLinkedQueue<long[]> mailbox = new ConcurrentLinkedQueue<long[]>();
+		private Thread thread;			// woken when a message is sent to this worker
+		// outboxes[i] is the batch of children waiting to be sent to worker i: a count, then key and value pairs
+		private final long[][] outboxes = new long[threads][];
+		// open addressing table of best values, 0 marking an empty slot since no board has a key of 0
+		private long[] keys = new long[1 << 12];
+		private int[] values = new int[1 << 12];
+		private int tableSize = 0;
+		// open list of keys in stacks by f, checked against the table when polled since a key may be pushed again at a lower f
+		private long[][] buckets = new long[64][];
+		private int[] bucketSizes = new int[64];
+		private int minTotalCost = Integer.MAX_VALUE;
+		private int openSize = 0;
+		private long expanded = 0;
+		private long generated = 0;
+		private long duplicates = 0;
+		private int peakOpenSize = 0;
+
+		Worker(int index){
+			this.index = index;
+			for(int i = 0; i < threads; i++){
+				this.outboxes[i] = new long[1 + 2 * BATCH_SIZE];
+			}
+		}
+
+		@Override
+		public void run(){
+			boolean active = true;
+			while(!done){
+				long[] message;
+				while((message = this.mailbox.poll()) != null){
+					for(int i = 0; i < message[0]; i++){
+						this.insert(message[1 + 2 * i], (int)message[2 + 2 * i]);
+					}
+					// an idle worker takes over the message's count instead of adding its own
+					if(active)
+						pending.decrementAndGet();
+					else
+						active = true;
+				}
+				// a message sent before parking leaves a permit, so it is never missed
+				if(!active){
+					LockSupport.park(this);
+					continue;
+				}
+
+				int sliceExpanded = 0;
+				long key;
+				while(sliceExpanded < SLICE_SIZE && (key = this.poll()) != 0){
+					this.expand(key);
+					sliceExpanded++;
+				}
+				this.expanded += sliceExpanded;
+				if(expansions.addAndGet(sliceExpanded) > maxNodes){
+					aborted = true;
+					finish();
+					return;
+				}
+				for(int i = 0; i < threads; i++){
+					this.flush(i);
+				}
+				// Checks if no open node can beat the incumbent, leaving this worker nothing to do until a message comes
+				if(sliceExpanded < SLICE_SIZE && this.mailbox.isEmpty()){
+					active = false;
+					if(pending.decrementAndGet() == 0)
+						finish();
+				}
+			}
+		}
+
+		// Generates the children but the one undoing the last move, keeping the ones this worker owns and batching the rest
+		private void expand(long key){
+			int value = this.get(key);
+			int actualCost = value & COST_MASK;
+			int heuristicCost = (value >>> HEURISTIC_SHIFT) & COST_MASK;
+			int lastMove = (value >>> MOVE_SHIFT) & 3;
+			byte[] tiles = geometry.unpack(new long[]{key});
+			int blank = SlidingBoard.blankIndex(tiles);
+			for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+				int target = geometry.neighborCell(blank, move);
+				if(target < 0 || (actualCost > 0 && move == PackedBoard.inverse(lastMove)))
+					continue;
+				int tile = tiles[target];
+				int childHeuristic = heuristicCost + geometry.manhattanCost(tile, blank) - geometry.manhattanCost(tile, target);
+				if(actualCost + 1 + childHeuristic >= incumbent.get())
+					continue;
+				tiles[blank] = (byte)tile;
+				tiles[target] = 0;
+				long childKey = geometry.pack(tiles)[0];
+				tiles[target] = (byte)tile;
+				tiles[blank] = 0;
+				int childValue = (actualCost + 1) | (childHeuristic << HEURISTIC_SHIFT) | (move << MOVE_SHIFT);
+				this.generated++;
+
+				Worker childOwner = owner(childKey);
+				if(childOwner == this){
+					this.insert(childKey, childValue);
+					continue;
+				}
+				long[] outbox = this.outboxes[childOwner.index];
+				int count = (int)outbox[0];
+				outbox[1 + 2 * count] = childKey;
+				outbox[2 + 2 * count] = childValue;
+				outbox[0] = count + 1;
+				if(count + 1 == BATCH_SIZE)
+					this.flush(childOwner.index);
+			}
+		}
+
+		// Sends the waiting batch to its owner, counting it as pending until the owner reads it
+		private void flush(int destination){
+			long[] outbox = this.outboxes[destination];
+			if(outbox[0] == 0)
+				return;
+			pending.incrementAndGet();
+			workers[destination].mailbox.add(outbox);
+			LockSupport.unpark(workers[destination].thread);
+			this.outboxes[destination] = new long[1 + 2 * BATCH_SIZE];
+		}
+
+		// Records a state this worker owns if it is reached more cheaply than before, then opens it or, for the goal, lowers the incumbent
+		void insert(long key, int value){
+			int actualCost = value & COST_MASK;
+			int heuristicCost = (value >>> HEURISTIC_SHIFT) & COST_MASK;
+			// nothing with an f of at least the incumbent can lead to a shorter solution
+			if(actualCost + heuristicCost >= incumbent.get())
+				return;
+			int slot = this.find(key);
+			if(this.keys[slot] == key){
+				if((this.values[slot] & COST_MASK) <= actualCost){
+					this.duplicates++;
+					return;
+				}
+				this.values[slot] = value;
+			}
+			else{
+				this.keys[slot] = key;
+				this.values[slot] = value;
+				if(++this.tableSize * 2 > this.keys.length)
+					this.resize();
+			}
+			if(heuristicCost == 0){
+				int best;
+				while(actualCost < (best = incumbent.get()) && !incumbent.compareAndSet(best, actualCost));
+				return;
+			}
+			this.push(key, actualCost + heuristicCost);
+		}
+
+		// Polls the open key with the lowest f below the incumbent, marking it expanded, or returns 0 if there is none
+		private long poll(){
+			while(this.openSize > 0){
+				while(this.bucketSizes[this.minTotalCost] == 0){
+					this.minTotalCost++;
+				}
+				int f = this.minTotalCost;
+				if(f >= incumbent.get())
+					return 0;
+				long key = this.buckets[f][--this.bucketSizes[f]];
+				this.openSize--;
+				int slot = this.find(key);
+				int value = this.values[slot];
+				// skips a key already expanded, or pushed again since at a lower f
+				if((value & CLOSED) != 0 || (value & COST_MASK) + ((value >>> HEURISTIC_SHIFT) & COST_MASK) != f)
+					continue;
+				this.values[slot] = value | CLOSED;
+				return key;
+			}
+			return 0;
+		}
+
+		private void push(long key, int f){
+			if(f >= this.buckets.length){
+				int newLength = Math.max(f + 1, this.buckets.length * 2);
+				this.buckets = Arrays.copyOf(this.buckets, newLength);
+				this.bucketSizes = Arrays.copyOf(this.bucketSizes, newLength);
+			}
+			long[] bucket = this.buckets[f];
+			int count = this.bucketSizes[f];
+			if(bucket == null)
+				bucket = this.buckets[f] = new long[16];
+			else if(count == bucket.length)
+				bucket = this.buckets[f] = Arrays.copyOf(bucket, count * 2);
+			bucket[count] = key;
+			this.bucketSizes[f] = count + 1;
+			this.peakOpenSize = Math.max(this.peakOpenSize, ++this.openSize);
+			if(f < this.minTotalCost)
+				this.minTotalCost = f;
+		}
+
+		// Returns the value stored for the key, which must be in the table
+		int get(long key){
+			return this.values[this.find(key)];
+		}
+
+		// Returns the slot holding the key, or the empty slot it would go in
+		private int find(long key){
+			int mask = this.keys.length - 1;
+			int slot = StateMap.hash(key) & mask;
+			while(this.keys[slot] != 0 && this.keys[slot] != key){
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		private void resize(){
+			long[] oldKeys = this.keys;
+			int[] oldValues = this.values;
+			this.keys = new long[oldKeys.length * 2];
+			this.values = new int[oldValues.length * 2];
+			for(int i = 0; i < oldKeys.length; i++){
+				if(oldKeys[i] != 0){
+					int slot = this.find(oldKeys[i]);
+					this.keys[slot] = oldKeys[i];
+					this.values[slot] = oldValues[i];
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the additive disjoint pattern database heuristic (h3).
+ * Tiles 1-4 and 5-8 each get a table of the fewest moves of their own tiles needed to bring them home,
+ * ignoring the other tiles, so the two values can be added without overestimating.
+ * The tables keep the blank's cell in the index, otherwise the heuristic is not consistent and A* can close
+ * a state before finding its shortest path
+ * The tables are built once by a backward breadth first search from the goal, written to a binary file and
+ * memory mapped on later runs*/
+package eightpuzzle;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+public class PatternDatabase {
+	public static final String DEFAULT_FILE = "pattern-db-8.bin";
+	private static final int MAGIC = 0x50444239;		// version 2, indexed by blank cell
+	private static final int[][] PATTERNS = {{1, 2, 3, 4}, {5, 6, 7, 8}};
+	private static final int PATTERN_SIZE = 4;
+	// Each table is indexed by the cells of its tiles as a base 9 number, followed by the cell of the blank
+	private static final int TABLE_SIZE = 9 * 9 * 9 * 9 * 9;
+	private static final int HEADER_SIZE = 8;
+	private static final int[] POWERS_OF_9 = {1, 9, 81, 729};
+
+	private MappedByteBuffer tables;
+
+	// Lazily loads the shared database the first time it is used
+	private static class Holder {
+		static final PatternDatabase INSTANCE = new PatternDatabase(Paths.get(System.getProperty("puzzle.pdb", DEFAULT_FILE)));
+	}
+
+	public static PatternDatabase getInstance(){
+		return Holder.INSTANCE;
+	}
+
+	// 1-arg constructor to map the database file, generating it first if it does not exist yet
+	public PatternDatabase(Path file){
+		try{
+			if(!Files.exists(file)){
+				writeTables(file, generateTables());
+			}
+			try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+				this.tables = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			if(this.tables.capacity() != HEADER_SIZE + PATTERNS.length * TABLE_SIZE || this.tables.getInt(0) != MAGIC){
+				throw new IOException("Pattern database file " + file + " is corrupt, delete it to rebuild it");
+			}
+		}
+		catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Returns the sum of both pattern costs for the board
+	public int lookup(long puzzle){
+		int first = 0;
+		int second = 0;
+		for(int cell = 0; cell < PackedBoard.CELLS; cell++){
+			int tile = PackedBoard.tileAt(puzzle, cell);
+			if(tile == 0)
+				continue;
+			// tile 1 and 5 are the most significant digits of their pattern's index
+			int digit = cell * POWERS_OF_9[PATTERN_SIZE - 1 - (tile - 1) % PATTERN_SIZE];
+			if(tile <= PATTERN_SIZE)
+				first += digit;
+			else
+				second += digit;
+		}
+		int blank = PackedBoard.blankIndex(puzzle);
+		return this.tables.get(HEADER_SIZE + first * PackedBoard.CELLS + blank)
+				+ this.tables.get(HEADER_SIZE + TABLE_SIZE + second * PackedBoard.CELLS + blank);
+	}
+
+	// Runs a 0-1 breadth first search from the goal for each pattern.
+	// The search state is the cells of the pattern tiles plus the blank, and only moves of pattern tiles cost 1
+	private static byte[][] generateTables(){
+		byte[][] tables = new byte[PATTERNS.length][];
+		for(int p = 0; p < PATTERNS.length; p++){
+			int[] pattern = PATTERNS[p];
+			byte[] distances = new byte[TABLE_SIZE];
+			Arrays.fill(distances, Byte.MAX_VALUE);
+			ArrayDeque<Integer> frontier = new ArrayDeque<Integer>();
+			int goal = 0;
+			for(int tile : pattern){
+				goal = goal * 9 + tile;
+			}
+			distances[goal * PackedBoard.CELLS] = 0;
+			frontier.add(goal * PackedBoard.CELLS);
+
+			int[] cells = new int[PATTERN_SIZE];
+			while(!frontier.isEmpty()){
+				int state = frontier.poll();
+				int index = state / PackedBoard.CELLS;
+				int blank = state % PackedBoard.CELLS;
+				for(int i = PATTERN_SIZE - 1, rest = index; i >= 0; i--, rest /= 9){
+					cells[i] = rest % 9;
+				}
+				for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+					int target = PackedBoard.neighborCell(blank, move);
+					if(target < 0)
+						continue;
+					// if a pattern tile sits in the target cell it slides into the blank's cell
+					int nextIndex = index;
+					int cost = 0;
+					for(int i = 0; i < PATTERN_SIZE; i++){
+						if(cells[i] == target){
+							nextIndex += (blank - target) * POWERS_OF_9[PATTERN_SIZE - 1 - i];
+							cost = 1;
+						}
+					}
+					int next = nextIndex * PackedBoard.CELLS + target;
+					int distance = distances[state] + cost;
+					if(distance < distances[next]){
+						distances[next] = (byte)distance;
+						if(cost == 0)
+							frontier.addFirst(next);
+						else
+							frontier.addLast(next);
+					}
+				}
+			}
+			tables[p] = distances;
+		}
+		return tables;
+	}
+
+	// Writes the header and tables to the file
+	private static void writeTables(Path file, byte[][] tables) throws IOException{
+		// each writer gets its own temp file, so processes generating at once never write into the same one
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+		try{
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))){
+				out.writeInt(MAGIC);
+				out.writeInt(PATTERNS.length);
+				for(byte[] table : tables){
+					out.write(table);
+				}
+			}
+			// move into place in one step so another process never maps a half written file
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally{
+			Files.deleteIfExists(temp);
+		}
+	}
+}
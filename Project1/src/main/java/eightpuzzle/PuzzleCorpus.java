@@ -0,0 +1,100 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the binary corpus format for large batches, read and written through memory mapped channels.
+ * A corpus is a 16 byte header (magic, record size, record count) followed by one 8 byte packed board per record.
+ * A result file has the same header with its own magic, followed by one 16 byte record per corpus record:
+ * the moves packed 2 bits each with the first move lowest (at most 32, which every optimal path fits, so only optimal searches write them),
+ * the nodes explored as an int, the path length as a short (UNSOLVED or INVALID when there is none) and 2 unused bytes.
+ * Files are mapped a chunk of records at a time, so corpora larger than one mapping still stream*/
+package eightpuzzle;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Random;
+public final class PuzzleCorpus {
+	public static final int MAGIC = 0x50555A31;			// "PUZ1"
+	public static final int RESULT_MAGIC = 0x52534C31;		// "RSL1"
+	public static final int HEADER_SIZE = 16;
+	public static final int RECORD_SIZE = 8;
+	public static final int RESULT_SIZE = 16;
+	public static final short UNSOLVED = -1;
+	public static final short INVALID = -2;
+	// records mapped at once
+	public static final int CHUNK_RECORDS = 1 << 16;
+	public static final int MAX_PACKED_MOVES = 32;
+
+	private PuzzleCorpus(){
+	}
+
+	/** This method writes a corpus of boards scrambled from the goal, one mapped chunk at a time
+	 * @param file  corpus file to create or replace
+	 * @param count  number of boards
+	 * @param moves  random moves made from the goal for each board
+	 * @param moveGenerator  source of the random moves*/
+	public static void writeRandom(Path file, long count, int moves, Random moveGenerator) throws IOException{
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)){
+			writeHeader(channel, MAGIC, RECORD_SIZE, count);
+			for(long first = 0; first < count; first += CHUNK_RECORDS){
+				int records = (int)Math.min(CHUNK_RECORDS, count - first);
+				MappedByteBuffer chunk = map(channel, FileChannel.MapMode.READ_WRITE, first, records, RECORD_SIZE);
+				for(int i = 0; i < records; i++){
+					chunk.putLong(i * RECORD_SIZE, PackedBoard.scramble(PackedBoard.GOAL, moves, moveGenerator));
+				}
+			}
+		}
+	}
+
+	// Writes the header at the start of the file
+	public static void writeHeader(FileChannel channel, int magic, int recordSize, long count) throws IOException{
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+		header.putInt(0, magic);
+		header.putInt(4, recordSize);
+		header.putLong(8, count);
+	}
+
+	// Checks the header against the expected format and returns the number of records it announces
+	public static long readHeader(FileChannel channel, int magic, int recordSize) throws IOException{
+		if(channel.size() < HEADER_SIZE)
+			throw new IOException("File is too short to be a puzzle corpus");
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+		long count = header.getLong(8);
+		if(header.getInt(0) != magic || header.getInt(4) != recordSize || count < 0 || channel.size() < HEADER_SIZE + count * recordSize)
+			throw new IOException("File is not a puzzle corpus in this format, or it is truncated");
+		return count;
+	}
+
+	// Maps the given run of records
+	public static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long firstRecord, int records, int recordSize) throws IOException{
+		return channel.map(mode, HEADER_SIZE + firstRecord * recordSize, (long)records * recordSize);
+	}
+
+	// Returns whether the record holds a board, with every tile once and the blank index pointing at the blank
+	public static boolean isValid(long board){
+		if(PackedBoard.blankIndex(board) >= PackedBoard.CELLS || (board >>> (PackedBoard.BLANK_SHIFT + 4)) != 0)
+			return false;
+		int seenTiles = 0;
+		for(int cell = 0; cell < PackedBoard.CELLS; cell++){
+			seenTiles |= 1 << PackedBoard.tileAt(board, cell);
+		}
+		return seenTiles == (1 << PackedBoard.CELLS) - 1 && PackedBoard.tileAt(board, PackedBoard.blankIndex(board)) == 0;
+	}
+
+	// Packs up to 32 moves 2 bits each, the first move in the lowest bits, refusing longer paths rather than cutting them short
+	public static long packMoves(byte[] moves){
+		if(moves.length > MAX_PACKED_MOVES)
+			throw new IllegalArgumentException("A path of " + moves.length + " moves does not fit a result record of " + MAX_PACKED_MOVES + " moves");
+		long packed = 0;
+		for(int i = moves.length - 1; i >= 0; i--){
+			packed = (packed << 2) | moves[i];
+		}
+		return packed;
+	}
+
+	// Returns move i of moves packed by packMoves
+	public static int moveAt(long packedMoves, int i){
+		return (int)(packedMoves >>> (2 * i)) & 3;
+	}
+}
@@ -0,0 +1,106 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the counters of one finished search. It is immutable, so it can be published to JMX from any thread*/
+package eightpuzzle;
+public class SearchRecord {
+	private final String algorithm;
+	private final boolean solved;
+	private final int pathLength;
+	private final long nodesExpanded;
+	private final long nodesGenerated;
+	private final long duplicates;
+	private final long peakOpenSize;
+	private final long peakClosedSize;
+	private final long wallTimeNanos;
+	private final long allocatedBytes;
+
+	// 10-arg constructor to initialize the record with every counter of the search
+	public SearchRecord(String algorithm, boolean solved, int pathLength, long nodesExpanded, long nodesGenerated, long duplicates,
+			long peakOpenSize, long peakClosedSize, long wallTimeNanos, long allocatedBytes){
+		this.algorithm = algorithm;
+		this.solved = solved;
+		this.pathLength = pathLength;
+		this.nodesExpanded = nodesExpanded;
+		this.nodesGenerated = nodesGenerated;
+		this.duplicates = duplicates;
+		this.peakOpenSize = peakOpenSize;
+		this.peakClosedSize = peakClosedSize;
+		this.wallTimeNanos = wallTimeNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/* Returns the branching factor b* of a uniform tree of the solution's depth holding every generated node,
+	 * so that generated + 1 = 1 + b* + b*^2 + ... + b*^depth, or 0 if the search did not find a path of at least one move*/
+	public double getEffectiveBranchingFactor(){
+		if(!this.solved || this.pathLength == 0)
+			return 0;
+		double target = this.nodesGenerated + 1;
+		double low = 0;
+		double high = Math.max(target, 1);
+		// bisect, since the tree size only grows with b
+		for(int iteration = 0; iteration < 100; iteration++){
+			double middle = (low + high) / 2;
+			double treeSize = 1;
+			double level = 1;
+			for(int depth = 1; depth <= this.pathLength && treeSize <= target; depth++){
+				level *= middle;
+				treeSize += level;
+			}
+			if(treeSize > target)
+				high = middle;
+			else
+				low = middle;
+		}
+		return low;
+	}
+
+	public double getExpansionsPerSecond(){
+		return this.wallTimeNanos == 0 ? 0 : this.nodesExpanded * 1e9 / this.wallTimeNanos;
+	}
+
+	// Returns the fraction of generated nodes that were already seen
+	public double getDuplicateRate(){
+		return this.nodesGenerated == 0 ? 0 : (double)this.duplicates / this.nodesGenerated;
+	}
+
+	public String getAlgorithm(){
+		return this.algorithm;
+	}
+
+	public boolean isSolved(){
+		return this.solved;
+	}
+
+	public int getPathLength(){
+		return this.pathLength;
+	}
+
+	public long getNodesExpanded(){
+		return this.nodesExpanded;
+	}
+
+	public long getNodesGenerated(){
+		return this.nodesGenerated;
+	}
+
+	public long getDuplicates(){
+		return this.duplicates;
+	}
+
+	public long getPeakOpenSize(){
+		return this.peakOpenSize;
+	}
+
+	public long getPeakClosedSize(){
+		return this.peakClosedSize;
+	}
+
+	public long getWallTimeNanos(){
+		return this.wallTimeNanos;
+	}
+
+	public long getAllocatedBytes(){
+		return this.allocatedBytes;
+	}
+}
@@ -0,0 +1,187 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the running totals of every search. Starting the platform MBean server takes longer than most
+ * searches, so the totals are only published to JMX by the long-running modes: the server, batches, experiments and a
+ * console started with -jmx. Batch and experiment workers record into it concurrently, so the totals are adders rather than plain fields*/
+package eightpuzzle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+public class SearchStats implements SearchStatsMXBean {
+	public static final String OBJECT_NAME = "eightpuzzle:type=SearchStats";
+
+	private final LongAdder searches = new LongAdder();
+	private final LongAdder solvedSearches = new LongAdder();
+	private final LongAdder nodesExpanded = new LongAdder();
+	private final LongAdder nodesGenerated = new LongAdder();
+	private final LongAdder duplicates = new LongAdder();
+	private final LongAccumulator peakOpenSize = new LongAccumulator(Math::max, 0);
+	private final LongAccumulator peakClosedSize = new LongAccumulator(Math::max, 0);
+	private final LongAdder wallTimeNanos = new LongAdder();
+	private final LongAdder allocatedBytes = new LongAdder();
+	private final DoubleAdder branchingFactors = new DoubleAdder();
+	private final LongAdder branchingFactorCount = new LongAdder();
+	private volatile SearchRecord lastSearch;
+	private static boolean published = false;
+
+	// Lazily creates the only instance the first time a search is recorded
+	private static class Holder {
+		static final SearchStats INSTANCE = new SearchStats();
+	}
+
+	private SearchStats(){
+	}
+
+	public static SearchStats getInstance(){
+		return Holder.INSTANCE;
+	}
+
+	// Registers the totals with the platform MBean server, doing nothing after the first call
+	public static synchronized void publish(){
+		if(published)
+			return;
+		published = true;
+		try{
+			ManagementFactory.getPlatformMBeanServer().registerMBean(getInstance(), new ObjectName(OBJECT_NAME));
+		}
+		catch(JMException e){
+			// the counters still work without JMX, they just are not visible to outside tools
+			System.out.println("Search stats not published to JMX: " + e.getMessage());
+		}
+	}
+
+	// Returns the bytes allocated so far by the calling thread, or 0 if the JVM does not track them
+	public static long threadAllocatedBytes(){
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if(threads instanceof com.sun.management.ThreadMXBean){
+			com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean)threads;
+			if(allocations.isThreadAllocatedMemoryEnabled())
+				return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	// Adds a finished search to the totals
+	public void record(SearchRecord search){
+		this.searches.increment();
+		if(search.isSolved())
+			this.solvedSearches.increment();
+		this.nodesExpanded.add(search.getNodesExpanded());
+		this.nodesGenerated.add(search.getNodesGenerated());
+		this.duplicates.add(search.getDuplicates());
+		this.peakOpenSize.accumulate(search.getPeakOpenSize());
+		this.peakClosedSize.accumulate(search.getPeakClosedSize());
+		this.wallTimeNanos.add(search.getWallTimeNanos());
+		this.allocatedBytes.add(search.getAllocatedBytes());
+		if(search.isSolved() && search.getPathLength() > 0){
+			this.branchingFactors.add(search.getEffectiveBranchingFactor());
+			this.branchingFactorCount.increment();
+		}
+		this.lastSearch = search;
+	}
+
+	@Override
+	public void reset(){
+		this.searches.reset();
+		this.solvedSearches.reset();
+		this.nodesExpanded.reset();
+		this.nodesGenerated.reset();
+		this.duplicates.reset();
+		this.peakOpenSize.reset();
+		this.peakClosedSize.reset();
+		this.wallTimeNanos.reset();
+		this.allocatedBytes.reset();
+		this.branchingFactors.reset();
+		this.branchingFactorCount.reset();
+		this.lastSearch = null;
+		SolutionCache.getInstance().resetCounters();
+	}
+
+	@Override
+	public long getSearches(){
+		return this.searches.sum();
+	}
+
+	@Override
+	public long getSolvedSearches(){
+		return this.solvedSearches.sum();
+	}
+
+	@Override
+	public long getNodesExpanded(){
+		return this.nodesExpanded.sum();
+	}
+
+	@Override
+	public long getNodesGenerated(){
+		return this.nodesGenerated.sum();
+	}
+
+	@Override
+	public long getDuplicates(){
+		return this.duplicates.sum();
+	}
+
+	@Override
+	public long getPeakOpenSize(){
+		return this.peakOpenSize.get();
+	}
+
+	@Override
+	public long getPeakClosedSize(){
+		return this.peakClosedSize.get();
+	}
+
+	@Override
+	public long getWallTimeNanos(){
+		return this.wallTimeNanos.sum();
+	}
+
+	@Override
+	public long getAllocatedBytes(){
+		return this.allocatedBytes.sum();
+	}
+
+	@Override
+	public double getExpansionsPerSecond(){
+		long wallTime = this.getWallTimeNanos();
+		return wallTime == 0 ? 0 : this.getNodesExpanded() * 1e9 / wallTime;
+	}
+
+	@Override
+	public double getDuplicateRate(){
+		long generated = this.getNodesGenerated();
+		return generated == 0 ? 0 : (double)this.getDuplicates() / generated;
+	}
+
+	@Override
+	public double getEffectiveBranchingFactor(){
+		long count = this.branchingFactorCount.sum();
+		return count == 0 ? 0 : this.branchingFactors.sum() / count;
+	}
+
+	@Override
+	public SearchRecord getLastSearch(){
+		return this.lastSearch;
+	}
+
+	@Override
+	public long getCacheHits(){
+		return SolutionCache.getInstance().getHits();
+	}
+
+	@Override
+	public long getCacheMisses(){
+		return SolutionCache.getInstance().getMisses();
+	}
+
+	@Override
+	public int getCacheSize(){
+		return SolutionCache.getInstance().size();
+	}
+}
@@ -0,0 +1,28 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This interface represents the search counters published through JMX as eightpuzzle:type=SearchStats.
+ * Totals cover every search run through InformedSearches.search on any thread since the program started or was reset*/
+package eightpuzzle;
+public interface SearchStatsMXBean {
+	long getSearches();
+	long getSolvedSearches();
+	long getNodesExpanded();
+	long getNodesGenerated();
+	long getDuplicates();
+	// largest open list and closed set seen by any one search
+	long getPeakOpenSize();
+	long getPeakClosedSize();
+	long getWallTimeNanos();
+	long getAllocatedBytes();
+	double getExpansionsPerSecond();
+	double getDuplicateRate();
+	// mean effective branching factor of the solved searches
+	double getEffectiveBranchingFactor();
+	SearchRecord getLastSearch();
+	// lookups in the shared solution cache
+	long getCacheHits();
+	long getCacheMisses();
+	int getCacheSize();
+	void reset();
+}
@@ -0,0 +1,219 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the geometry of an NxN sliding puzzle (3x3, the 15-puzzle and the 24-puzzle) and packs its boards into longs.
+ * Boards are byte arrays of tiles by cell with 0 as the blank. Packed keys hold every cell but the last, since the last tile is
+ * whichever one is missing: 4 bits per cell for boards up to 4x4 (one long) and 5 bits per cell for 5x5 (two longs of 12 cells)*/
+package eightpuzzle;
+import java.util.Random;
+public final class SlidingBoard {
+	public static final int MIN_SIZE = 2;
+	public static final int MAX_SIZE = 5;
+	private static final SlidingBoard[] BOARDS = new SlidingBoard[MAX_SIZE + 1];
+
+	static{
+		for(int size = MIN_SIZE; size <= MAX_SIZE; size++){
+			BOARDS[size] = new SlidingBoard(size);
+		}
+	}
+
+	private final int size;
+	private final int cells;
+	private final int bitsPerCell;
+	private final int cellsPerLong;
+	private final int keyLength;
+	// neighbors[cell][move] is the cell the blank slides into, or -1 if the move leaves the board
+	private final int[][] neighbors;
+	// manhattanCost[tile][cell] is the Manhattan distance of the tile from its goal cell, 0 for the blank
+	private final int[][] manhattanCost;
+
+	private SlidingBoard(int size){
+		this.size = size;
+		this.cells = size * size;
+		this.bitsPerCell = size <= 4 ? 4 : 5;
+		this.cellsPerLong = 64 / this.bitsPerCell;
+		this.keyLength = (this.cells - 1 + this.cellsPerLong - 1) / this.cellsPerLong;
+		this.neighbors = new int[this.cells][4];
+		this.manhattanCost = new int[this.cells][this.cells];
+		for(int cell = 0; cell < this.cells; cell++){
+			int row = cell / size;
+			int col = cell % size;
+			this.neighbors[cell][PackedBoard.UP] = row > 0 ? cell - size : -1;
+			this.neighbors[cell][PackedBoard.DOWN] = row < size - 1 ? cell + size : -1;
+			this.neighbors[cell][PackedBoard.LEFT] = col > 0 ? cell - 1 : -1;
+			this.neighbors[cell][PackedBoard.RIGHT] = col < size - 1 ? cell + 1 : -1;
+			for(int tile = 1; tile < this.cells; tile++){
+				this.manhattanCost[tile][cell] = Math.abs(row - tile / size) + Math.abs(col - tile % size);
+			}
+		}
+	}
+
+	// Returns the geometry of the given board size, or null if the size is not supported
+	public static SlidingBoard ofSize(int size){
+		return size >= MIN_SIZE && size <= MAX_SIZE ? BOARDS[size] : null;
+	}
+
+	public int getSize(){
+		return this.size;
+	}
+
+	public int getCells(){
+		return this.cells;
+	}
+
+	// Returns the number of longs in a packed key
+	public int getKeyLength(){
+		return this.keyLength;
+	}
+
+	// Returns the goal board, with the blank in the top left and the tiles in order after it
+	public byte[] goal(){
+		byte[] tiles = new byte[this.cells];
+		for(int cell = 0; cell < this.cells; cell++){
+			tiles[cell] = (byte)cell;
+		}
+		return tiles;
+	}
+
+	/** This method reads a board from one token per cell in row order, with 'b' or '0' as the blank
+	 * @param tokens  the cells of the board
+	 * @return  the board, or null after printing why the tokens are not a legal board*/
+	public byte[] parse(String[] tokens){
+		if(tokens.length != this.cells){
+			System.out.println("Invalid input: Please only choose " + this.cells + " values for the state!\n");
+			return null;
+		}
+		byte[] tiles = new byte[this.cells];
+		boolean[] used = new boolean[this.cells];
+		for(int cell = 0; cell < this.cells; cell++){
+			int tile;
+			try{
+				tile = tokens[cell].equals("b") ? 0 : Integer.parseInt(tokens[cell]);
+			}
+			catch(NumberFormatException e){
+				tile = -1;
+			}
+			if(tile < 0 || tile >= this.cells){
+				System.out.println("Invalid input: Please only use numbers 1," + (this.cells - 1) + " and 'b'!\n");
+				return null;
+			}
+			if(used[tile]){
+				System.out.println("Invalid input: Please only use each entry once!\n");
+				return null;
+			}
+			used[tile] = true;
+			tiles[cell] = (byte)tile;
+		}
+		return tiles;
+	}
+
+	/* Returns whether the goal can be reached from the board in O(cells) time.
+	 * Every move swaps the blank with a neighbor, flipping the parity of the permutation and of the blank's
+	 * distance from its goal cell together, so the board is solvable exactly when the two parities match*/
+	public boolean isSolvable(byte[] tiles){
+		boolean[] visited = new boolean[this.cells];
+		int transpositions = 0;
+		int blank = 0;
+		for(int cell = 0; cell < this.cells; cell++){
+			if(tiles[cell] == 0)
+				blank = cell;
+			// a cycle of length n is n - 1 swaps
+			for(int next = cell; !visited[next]; next = tiles[next]){
+				visited[next] = true;
+				if(next != cell)
+					transpositions++;
+			}
+		}
+		// the blank's goal cell is 0, so its distance is its row plus its column
+		return (transpositions & 1) == ((blank / this.size + blank % this.size) & 1);
+	}
+
+	// Returns the cell next to the given cell in the move's direction, or -1 if it is off the board
+	public int neighborCell(int cell, int move){
+		return this.neighbors[cell][move];
+	}
+
+	// Returns the Manhattan distance of the tile from its goal cell if it were in the given cell
+	public int manhattanCost(int tile, int cell){
+		return this.manhattanCost[tile][cell];
+	}
+
+	// Returns the sum of the Manhattan distances of every tile from its goal cell
+	public int manhattan(byte[] tiles){
+		int cost = 0;
+		for(int cell = 0; cell < this.cells; cell++){
+			cost += this.manhattanCost[tiles[cell]][cell];
+		}
+		return cost;
+	}
+
+	// Returns the cell holding the blank
+	public static int blankIndex(byte[] tiles){
+		for(int cell = 0; cell < tiles.length; cell++){
+			if(tiles[cell] == 0)
+				return cell;
+		}
+		return -1;
+	}
+
+	// Slides the blank in the given direction in place, returning whether it was a legal move
+	public boolean move(byte[] tiles, int move){
+		int blank = blankIndex(tiles);
+		int target = this.neighbors[blank][move];
+		if(target < 0)
+			return false;
+		tiles[blank] = tiles[target];
+		tiles[target] = 0;
+		return true;
+	}
+
+	// Makes random moves from the board in place, moving the other way whenever a move would leave the board
+	public void scramble(byte[] tiles, int moves, Random moveGenerator){
+		for(int count = 0; count < moves; count++){
+			int nextMove = moveGenerator.nextInt(4);
+			if(!this.move(tiles, nextMove))
+				this.move(tiles, PackedBoard.inverse(nextMove));
+		}
+	}
+
+	// Packs the board into its key, every cell but the last in order from the lowest bits of the first long
+	public long[] pack(byte[] tiles){
+		long[] key = new long[this.keyLength];
+		for(int cell = 0; cell < this.cells - 1; cell++){
+			key[cell / this.cellsPerLong] |= (long)tiles[cell] << (this.bitsPerCell * (cell % this.cellsPerLong));
+		}
+		return key;
+	}
+
+	// Unpacks a key made by pack, filling in the last cell with the one tile that is missing
+	public byte[] unpack(long[] key){
+		byte[] tiles = new byte[this.cells];
+		long cellMask = (1L << this.bitsPerCell) - 1;
+		int lastTile = this.cells * (this.cells - 1) / 2;
+		for(int cell = 0; cell < this.cells - 1; cell++){
+			tiles[cell] = (byte)((key[cell / this.cellsPerLong] >>> (this.bitsPerCell * (cell % this.cellsPerLong))) & cellMask);
+			lastTile -= tiles[cell];
+		}
+		tiles[this.cells - 1] = (byte)lastTile;
+		return tiles;
+	}
+
+	// Prints the layout of the board to the console
+	public void print(byte[] tiles){
+		int width = String.valueOf(this.cells - 1).length();
+		System.out.println("Current State:");
+		for(int row = 0; row < this.size; row++){
+			StringBuilder line = new StringBuilder("|");
+			for(int col = 0; col < this.size; col++){
+				int tile = tiles[row * this.size + col];
+				String text = tile == 0 ? "b" : String.valueOf(tile);
+				for(int pad = text.length(); pad < width; pad++){
+					line.append(' ');
+				}
+				line.append(text).append('|');
+			}
+			System.out.println(line);
+		}
+		System.out.println("\n");
+	}
+}
@@ -0,0 +1,218 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the iterative deepening A* search shared by every board size. It works on a single board that is
+ * moved and moved back in place, so memory use is proportional to the solution depth. The board and its heuristic are
+ * given through the Board interface: NxN boards use the Manhattan distance here, and the 3x3 searches in InformedSearches
+ * plug in their packed board with any of their heuristics*/
+package eightpuzzle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+public class SlidingPuzzleSearch {
+	private SlidingBoard geometry;
+	private Board board;
+	private byte[] moves;
+	private int nextThreshold;
+	private int maxNodes;
+	private int nodesExplored;
+	private long nodesGenerated;
+	private int peakDepth;							// most nodes on the current path at once
+	private int pathLength;
+	private byte[] solutionMoves = new byte[0];
+	private ArrayList<Integer> iterationThresholds = new ArrayList<Integer>();
+	private ArrayList<Integer> iterationNodes = new ArrayList<Integer>();
+	public boolean printToConsole = true;
+
+	// This interface represents the one board searched, which is moved and moved back in place
+	interface Board {
+		// Returns the heuristic cost of the board as it is
+		int heuristic();
+
+		// Returns the cell of the blank
+		int blankIndex();
+
+		// Slides the tile in the target cell into the blank cell, returning the heuristic cost afterwards given the cost before
+		int slide(int blank, int target, int heuristicCost);
+
+		// Slides the tile back from the blank cell into the target cell, undoing the last slide
+		void undo(int blank, int target);
+	}
+
+	// This class represents an NxN board as its tiles, with the Manhattan distance updated from the tile that moved
+	private static final class TileBoard implements Board {
+		private final SlidingBoard geometry;
+		private final byte[] tiles;
+
+		TileBoard(SlidingBoard geometry, byte[] tiles){
+			this.geometry = geometry;
+			this.tiles = tiles;
+		}
+
+		public int heuristic(){
+			return this.geometry.manhattan(this.tiles);
+		}
+
+		public int blankIndex(){
+			return SlidingBoard.blankIndex(this.tiles);
+		}
+
+		public int slide(int blank, int target, int heuristicCost){
+			int tile = this.tiles[target];
+			this.tiles[blank] = (byte)tile;
+			this.tiles[target] = 0;
+			return heuristicCost + this.geometry.manhattanCost(tile, blank) - this.geometry.manhattanCost(tile, target);
+		}
+
+		public void undo(int blank, int target){
+			this.tiles[target] = this.tiles[blank];
+			this.tiles[blank] = 0;
+		}
+	}
+
+	// 2-arg constructor to initialize the search for one board size and node budget
+	public SlidingPuzzleSearch(SlidingBoard geometry, int maxNodes){
+		this.geometry = geometry;
+		this.maxNodes = maxNodes;
+	}
+
+	/** This method is an IDA* search using the Manhattan distance heuristic
+	 * @param initialKey  packed initial puzzle state
+	 * @return  whether or not puzzle was solved*/
+	public boolean idaStarSearch(long[] initialKey){
+		byte[] tiles = this.geometry.unpack(initialKey);
+		if(!this.geometry.isSolvable(tiles)){
+			this.reset();
+			if(printToConsole)
+				System.out.println("No IDA* solution found: Invalid starting state\n");
+			return false;
+		}
+		if(this.search(new TileBoard(this.geometry, tiles))){
+			if(printToConsole){
+				System.out.println("IDA* h2 Solution Found in " + this.pathLength + " moves.\n" +
+						"Solution from initial state: " + PackedBoard.toPath(this.solutionMoves) + "\n" +
+						"Nodes explored for search: " + this.nodesExplored + "\n");
+			}
+			return true;
+		}
+		if(printToConsole)
+			System.out.println(this.exceededMaxNodes() ? "No IDA* solution found: Exceeded maxnodes\n" : "No IDA* solution found: Invalid starting state\n");
+		return false;
+	}
+
+	/** This method runs IDA* on the board, deepening each iteration until the goal is found, the node limit is hit
+	 * or no path is left below any threshold
+	 * @param board  board to search, left as it started
+	 * @return  whether or not puzzle was solved*/
+	boolean search(Board board){
+		this.reset();
+		this.board = board;
+		int heuristicCost = board.heuristic();
+		int threshold = heuristicCost;
+
+		// Search deeper each iteration until the goal is found or the node limit is hit
+		try{
+			while(true){
+				int nodesBefore = this.nodesExplored;
+				this.nextThreshold = Integer.MAX_VALUE;
+				this.moves = new byte[threshold + 1];
+				boolean found = this.exploreNode(0, threshold, heuristicCost, board.blankIndex(), -1);
+				this.iterationThresholds.add(threshold);
+				this.iterationNodes.add(this.nodesExplored - nodesBefore);
+				if(found){
+					this.solutionMoves = Arrays.copyOf(this.moves, this.pathLength);
+					return true;
+				}
+				else if(this.exceededMaxNodes() || this.nextThreshold == Integer.MAX_VALUE){
+					return false;
+				}
+				threshold = this.nextThreshold;
+			}
+		}
+		finally{
+			this.board = null;
+		}
+	}
+
+	// Clears all traces of the last search
+	private void reset(){
+		this.nodesExplored = 0;
+		this.nodesGenerated = 0;
+		this.peakDepth = 0;
+		this.pathLength = 0;
+		this.solutionMoves = new byte[0];
+		this.iterationThresholds.clear();
+		this.iterationNodes.clear();
+	}
+
+	//This helper method searches below the current board up to the threshold, undoing each move after trying it
+	private boolean exploreNode(int actualCost, int threshold, int heuristicCost, int blank, int previousMove){
+		int totalCost = actualCost + heuristicCost;
+		if(totalCost > threshold){
+			this.nextThreshold = Math.min(this.nextThreshold, totalCost);
+			return false;
+		}
+		if(heuristicCost == 0){
+			this.pathLength = actualCost;
+			return true;
+		}
+		if(++this.nodesExplored > this.maxNodes){
+			return false;
+		}
+		// the only open nodes are the ones on the current path
+		this.peakDepth = Math.max(this.peakDepth, actualCost + 1);
+
+		Board board = this.board;
+		for(int move = PackedBoard.UP; move <= PackedBoard.RIGHT; move++){
+			int target = this.geometry.neighborCell(blank, move);
+			// never undo the move that led here
+			if(target < 0 || move == PackedBoard.inverse(previousMove))
+				continue;
+			int childCost = board.slide(blank, target, heuristicCost);
+			this.nodesGenerated++;
+			this.moves[actualCost] = (byte)move;
+			boolean found = this.exploreNode(actualCost + 1, threshold, childCost, target, move);
+			board.undo(blank, target);
+			if(found)
+				return true;
+			if(this.nodesExplored > this.maxNodes)
+				return false;
+		}
+		return false;
+	}
+
+	// Returns whether the last search stopped because it explored more nodes than allowed
+	public boolean exceededMaxNodes(){
+		return this.nodesExplored > this.maxNodes;
+	}
+
+	public int getNodesExplored(){
+		return this.nodesExplored;
+	}
+
+	public long getNodesGenerated(){
+		return this.nodesGenerated;
+	}
+
+	public int getPeakDepth(){
+		return this.peakDepth;
+	}
+
+	public int getPathLength(){
+		return this.pathLength;
+	}
+
+	public byte[] getSolutionMoves(){
+		return this.solutionMoves;
+	}
+
+	// Returns the threshold used by each iteration of the last search
+	public List<Integer> getIterationThresholds(){
+		return this.iterationThresholds;
+	}
+
+	// Returns the nodes explored by each iteration of the last search
+	public List<Integer> getIterationNodes(){
+		return this.iterationNodes;
+	}
+}
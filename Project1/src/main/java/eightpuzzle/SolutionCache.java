@@ -0,0 +1,246 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a bounded cache of optimal distances, keyed by packed board.
+ * Each entry is a byte laid out like the distance table: the distance to the goal in the low 5 bits and the
+ * next move on an optimal path in bits 5-6. Every state on an optimal solution is cached, since the rest of
+ * that solution is an optimal path from it too. The cache is off until it is given a capacity.
+ * Entries are spread over stripes by hash, each an open addressing table of primitive keys with its own lock, so
+ * workers solving at once rarely wait on each other. A full stripe evicts with the clock algorithm: bit 7 of an
+ * entry marks it as used since the clock hand last passed, and the hand evicts the first entry without it*/
+package eightpuzzle;
+import java.util.concurrent.atomic.LongAdder;
+public class SolutionCache {
+	private static final int DISTANCE_MASK = 0x1F;
+	private static final int MOVE_SHIFT = 5;
+	private static final int ENTRY_MASK = 0x7F;
+	private static final int REFERENCED = 0x80;
+	private static final int STRIPES = 16;
+
+	private volatile int capacity;
+	private final Stripe[] stripes = new Stripe[STRIPES];
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	// Lazily creates the cache shared by every searcher
+	private static class Holder {
+		static final SolutionCache INSTANCE = new SolutionCache(0);
+	}
+
+	// 1-arg constructor to initialize the cache with the most entries it may hold, 0 to turn it off
+	public SolutionCache(int capacity){
+		this.capacity = capacity;
+		for(int i = 0; i < STRIPES; i++){
+			this.stripes[i] = new Stripe(stripeCapacity(capacity, i));
+		}
+	}
+
+	public static SolutionCache getInstance(){
+		return Holder.INSTANCE;
+	}
+
+	public boolean isEnabled(){
+		return this.capacity > 0;
+	}
+
+	public int getCapacity(){
+		return this.capacity;
+	}
+
+	// Changes the most entries the cache may hold, evicting the entries that no longer fit
+	public void setCapacity(int capacity){
+		this.capacity = capacity;
+		for(int i = 0; i < STRIPES; i++){
+			this.stripes[i].resize(stripeCapacity(capacity, i));
+		}
+	}
+
+	/** This method follows the cached next moves from the board to the goal
+	 * @param board  packed board to look up
+	 * @return  the optimal moves to the goal, or null if the board or any state after it is not cached*/
+	public byte[] path(long board){
+		if(board == PackedBoard.GOAL){
+			this.hits.increment();
+			return new byte[0];
+		}
+		int entry = this.stripe(board).get(board);
+		if(entry == 0){
+			this.misses.increment();
+			return null;
+		}
+		byte[] moves = new byte[entry & DISTANCE_MASK];
+		for(int i = 0; i < moves.length; i++){
+			moves[i] = (byte)((entry >>> MOVE_SHIFT) & 3);
+			board = PackedBoard.move(board, moves[i]);
+			// a later state may have been evicted since this one was cached
+			if(i + 1 < moves.length && (entry = this.stripe(board).get(board)) == 0){
+				this.misses.increment();
+				return null;
+			}
+		}
+		this.hits.increment();
+		return moves;
+	}
+
+	// Caches every state on an optimal solution, each with its remaining distance and next move
+	public void addPath(long board, byte[] moves){
+		if(this.capacity <= 0)
+			return;
+		for(int i = 0; i < moves.length; i++){
+			this.stripe(board).put(board, (byte)((moves.length - i) | (moves[i] << MOVE_SHIFT)));
+			board = PackedBoard.move(board, moves[i]);
+		}
+	}
+
+	public void clear(){
+		for(Stripe stripe : this.stripes){
+			stripe.clear();
+		}
+	}
+
+	public int size(){
+		int size = 0;
+		for(Stripe stripe : this.stripes){
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	public long getHits(){
+		return this.hits.sum();
+	}
+
+	public long getMisses(){
+		return this.misses.sum();
+	}
+
+	public void resetCounters(){
+		this.hits.reset();
+		this.misses.reset();
+	}
+
+	// Picks the stripe from the high bits of the hash, since each stripe uses the low bits for its slots
+	private Stripe stripe(long board){
+		return this.stripes[StateMap.hash(board) >>> 28];
+	}
+
+	// Splits the capacity over the stripes, the first ones taking one more entry each when it does not divide evenly
+	private static int stripeCapacity(int capacity, int stripe){
+		return capacity <= 0 ? 0 : capacity / STRIPES + (stripe < capacity % STRIPES ? 1 : 0);
+	}
+
+	// This class represents one stripe, a linear probing table where an entry of 0 marks an empty slot
+	private static final class Stripe {
+		private int capacity;
+		private long[] keys;
+		private byte[] entries;
+		private int size = 0;
+		private int hand = 0;			// next slot the clock looks at when evicting
+
+		Stripe(int capacity){
+			this.allocate(capacity);
+		}
+
+		private void allocate(int capacity){
+			this.capacity = capacity;
+			int slots = capacity == 0 ? 1 : Integer.highestOneBit(capacity * 2 - 1) << 1;
+			this.keys = new long[slots];
+			this.entries = new byte[slots];
+			this.size = 0;
+			this.hand = 0;
+		}
+
+		// Returns the entry for the board without its used bit, or 0 if it is not cached
+		synchronized int get(long board){
+			int slot = this.find(board);
+			if(this.entries[slot] == 0)
+				return 0;
+			this.entries[slot] |= REFERENCED;
+			return this.entries[slot] & ENTRY_MASK;
+		}
+
+		synchronized void put(long board, byte entry){
+			if(this.capacity == 0)
+				return;
+			int slot = this.find(board);
+			if(this.entries[slot] == 0){
+				if(this.size == this.capacity){
+					this.evict();
+					slot = this.find(board);
+				}
+				this.keys[slot] = board;
+				this.size++;
+			}
+			this.entries[slot] = (byte)(entry | REFERENCED);
+		}
+
+		synchronized void clear(){
+			this.allocate(this.capacity);
+		}
+
+		synchronized int size(){
+			return this.size;
+		}
+
+		// Rebuilds the stripe for a new capacity, keeping the entries that still fit
+		synchronized void resize(int capacity){
+			long[] oldKeys = this.keys;
+			byte[] oldEntries = this.entries;
+			this.allocate(capacity);
+			for(int i = 0; i < oldKeys.length && this.size < capacity; i++){
+				if(oldEntries[i] != 0){
+					int slot = this.find(oldKeys[i]);
+					this.keys[slot] = oldKeys[i];
+					this.entries[slot] = oldEntries[i];
+					this.size++;
+				}
+			}
+		}
+
+		// Returns the slot holding the board, or the empty slot it would go in
+		private int find(long board){
+			int mask = this.keys.length - 1;
+			int slot = StateMap.hash(board) & mask;
+			while(this.entries[slot] != 0 && this.keys[slot] != board){
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		// Sweeps the clock hand, clearing used bits, until it finds an entry that was not used and removes it
+		private void evict(){
+			int mask = this.keys.length - 1;
+			while(true){
+				int slot = this.hand;
+				this.hand = (this.hand + 1) & mask;
+				if(this.entries[slot] == 0)
+					continue;
+				if((this.entries[slot] & REFERENCED) != 0){
+					this.entries[slot] &= ENTRY_MASK;
+					continue;
+				}
+				this.remove(slot);
+				return;
+			}
+		}
+
+		// Empties the slot and shifts back any later entries of the probe run that no longer reach their home slot
+		private void remove(int slot){
+			int mask = this.keys.length - 1;
+			this.entries[slot] = 0;
+			this.size--;
+			int next = (slot + 1) & mask;
+			while(this.entries[next] != 0){
+				int home = StateMap.hash(this.keys[next]) & mask;
+				// the entry can move into the empty slot if its home is not between the empty slot and its current slot
+				if(((next - home) & mask) >= ((next - slot) & mask)){
+					this.keys[slot] = this.keys[next];
+					this.entries[slot] = this.entries[next];
+					this.entries[next] = 0;
+					slot = next;
+				}
+				next = (next + 1) & mask;
+			}
+		}
+	}
+}
@@ -0,0 +1,52 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the JFR event recorded around each search run through InformedSearches.search.
+ * Record it with -XX:StartFlightRecording or jcmd JFR.start. Until a recording starts the class is never loaded,
+ * since loading it starts the recorder's machinery, and searches only check whether the recorder is initialized*/
+package eightpuzzle;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+@Name("eightpuzzle.Solve")
+@Label("Puzzle Solve")
+@Category("Eight Puzzle")
+@Description("One search for a path from a puzzle state to the goal")
+@StackTrace(false)
+public class SolveEvent extends Event {
+	@Label("Algorithm")
+	String algorithm;
+
+	@Label("Puzzle")
+	@Description("Packed board the search started from")
+	long puzzle;
+
+	@Label("Solved")
+	boolean solved;
+
+	@Label("Path Length")
+	int pathLength;
+
+	@Label("Nodes Expanded")
+	long nodesExpanded;
+
+	@Label("Nodes Generated")
+	long nodesGenerated;
+
+	@Label("Duplicates")
+	long duplicates;
+
+	@Label("Peak Open Size")
+	long peakOpenSize;
+
+	@Label("Peak Closed Size")
+	long peakClosedSize;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocatedBytes;
+}
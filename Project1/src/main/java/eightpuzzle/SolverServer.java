@@ -0,0 +1,223 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a long-running HTTP solver, so clients share one warmed-up JVM instead of paying startup per puzzle.
+ *   GET  /solve?puzzle=b12+345+678&search=a-star+h2[&maxnodes=n]  solves one puzzle
+ *   POST /solve?search=a-star+h2[&maxnodes=n]                      solves one puzzle per line of the body, as one batch
+ *   GET  /stats                                                    prints the search totals
+ * Results are the tab separated lines written by solveBatch. A small fixed pool reads each request and hands its batch to
+ * a fixed pool of workers, each with its own InformedSearches, and the worker that solves the batch sends the reply.
+ * Once the worker queue is full, new requests are answered with 503 and Retry-After before their body is read, and
+ * bodies over MAX_BODY_BYTES are refused with 413, so a burst of clients cannot pile up unbounded work or memory*/
+package eightpuzzle;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+public class SolverServer {
+	public static final int MAX_BODY_BYTES = 1 << 20;	// about 80000 puzzles, one per line
+	private int port;
+	private int threads;
+	private int queueCapacity;
+	private int maxNodes;
+	private HttpServer server;
+	private ExecutorService exchanges;
+	private ThreadPoolExecutor workers;
+	private ThreadLocal<InformedSearches> searchers = ThreadLocal.withInitial(() -> {
+		InformedSearches searcher = new InformedSearches("");
+		searcher.printToConsole = false;
+		return searcher;
+	});
+
+	// 4-arg constructor to initialize the server with its port, worker count, queue bound and default node limit
+	public SolverServer(int port, int threads, int queueCapacity, int maxNodes){
+		this.port = port;
+		this.threads = threads;
+		this.queueCapacity = queueCapacity;
+		this.maxNodes = maxNodes;
+	}
+
+	// Starts listening on localhost, returning once the server accepts connections
+	public void start() throws IOException{
+		this.workers = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(this.queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+		// exchanges only read the request and queue it, the workers reply, so a few threads keep up with any number of clients
+		this.exchanges = Executors.newFixedThreadPool(Math.max(2, this.threads));
+		this.server = HttpServer.create(new InetSocketAddress("localhost", this.port), 0);
+		this.server.createContext("/solve", this::handleSolve);
+		this.server.createContext("/stats", this::handleStats);
+		this.server.setExecutor(this.exchanges);
+		this.server.start();
+		System.out.println("Solver server listening on http://localhost:" + this.server.getAddress().getPort() + "/ with " +
+				this.threads + " workers and room for " + this.queueCapacity + " queued requests\n");
+	}
+
+	// Stops accepting requests, lets the requests in progress finish for up to a second, then stops the workers
+	public void stop(){
+		this.server.stop(1);
+		this.exchanges.shutdown();
+		this.workers.shutdown();
+		System.out.println("Solver server stopped.\n");
+	}
+
+	public int getPort(){
+		return this.server.getAddress().getPort();
+	}
+
+	// Handles /solve by queueing the request's puzzles as one task, whose worker replies with their result lines
+	private void handleSolve(HttpExchange exchange) throws IOException{
+		boolean queued = false;
+		try{
+			Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+			String[] algorithm = query.getOrDefault("search", "").toLowerCase().trim().split(" +");
+			String error = InformedSearches.algorithmError(algorithm);
+			if(error != null){
+				reply(exchange, 400, "invalid search: " + error + "\n");
+				return;
+			}
+			// every worker would start its own search threads, more than one per core in all
+			if(InformedSearches.isParallel(algorithm)){
+				reply(exchange, 400, "invalid search: the server already runs one search per worker, so 'hda' cannot be used\n");
+				return;
+			}
+			int nodeLimit = this.maxNodes;
+			if(query.containsKey("maxnodes")){
+				try{
+					nodeLimit = Integer.parseInt(query.get("maxnodes"));
+				}
+				catch(NumberFormatException e){
+					nodeLimit = 0;
+				}
+				if(nodeLimit <= 0){
+					reply(exchange, 400, "maxnodes must be a positive integer\n");
+					return;
+				}
+			}
+			// refuse work the queue has no room for before reading any of the body
+			if(this.workers.getQueue().remainingCapacity() == 0){
+				replyBusy(exchange);
+				return;
+			}
+
+			List<String> puzzles = new ArrayList<String>();
+			if(exchange.getRequestMethod().equals("POST")){
+				// the server has already checked that any Content-Length is a number
+				String length = exchange.getRequestHeaders().getFirst("Content-Length");
+				if(length != null && Long.parseLong(length.trim()) > MAX_BODY_BYTES){
+					reply(exchange, 413, "request body is larger than " + MAX_BODY_BYTES + " bytes\n");
+					return;
+				}
+				// the body may be chunked without a length, so the read is capped as well
+				byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+				if(body.length > MAX_BODY_BYTES){
+					reply(exchange, 413, "request body is larger than " + MAX_BODY_BYTES + " bytes\n");
+					return;
+				}
+				for(String line : new String(body, StandardCharsets.UTF_8).split("\n")){
+					if(!line.trim().isEmpty())
+						puzzles.add(line.trim().toLowerCase());
+				}
+			}
+			else if(exchange.getRequestMethod().equals("GET") && query.containsKey("puzzle"))
+				puzzles.add(query.get("puzzle").trim().toLowerCase());
+			else{
+				reply(exchange, 400, "send GET /solve?puzzle=...&search=... or POST one puzzle per line\n");
+				return;
+			}
+
+			final int batchNodeLimit = nodeLimit;
+			try{
+				this.workers.execute(() -> this.solveAndReply(exchange, algorithm, batchNodeLimit, puzzles));
+				queued = true;
+			}
+			catch(RejectedExecutionException e){
+				replyBusy(exchange);
+			}
+		}
+		finally{
+			// a queued exchange is closed by the worker that replies to it
+			if(!queued)
+				exchange.close();
+		}
+	}
+
+	// Solves a queued request on the calling worker and sends its result lines
+	private void solveAndReply(HttpExchange exchange, String[] algorithm, int nodeLimit, List<String> puzzles){
+		try{
+			String results;
+			try{
+				results = this.solveBatch(algorithm, nodeLimit, puzzles);
+			}
+			catch(RuntimeException e){
+				reply(exchange, 500, "solver failed: " + e + "\n");
+				return;
+			}
+			reply(exchange, 200, results);
+		}
+		catch(IOException e){
+			// the client went away, there is nobody left to tell
+		}
+		finally{
+			exchange.close();
+		}
+	}
+
+	// Tells the client the worker queue is full and to try again shortly
+	private void replyBusy(HttpExchange exchange) throws IOException{
+		exchange.getResponseHeaders().set("Retry-After", "1");
+		reply(exchange, 503, "busy: " + this.workers.getQueue().size() + " requests queued, try again later\n");
+	}
+
+	// Handles /stats by replying with the totals of every search run so far
+	private void handleStats(HttpExchange exchange) throws IOException{
+		SearchStats totals = SearchStats.getInstance();
+		try{
+			reply(exchange, 200, "searches\t" + totals.getSearches() + "\nsolved\t" + totals.getSolvedSearches() +
+					"\nnodesExpanded\t" + totals.getNodesExpanded() + "\nnodesGenerated\t" + totals.getNodesGenerated() +
+					"\nduplicates\t" + totals.getDuplicates() + "\nwallTimeNanos\t" + totals.getWallTimeNanos() +
+					"\nexpansionsPerSecond\t" + totals.getExpansionsPerSecond() + "\nqueuedRequests\t" + this.workers.getQueue().size() + "\n");
+		}
+		finally{
+			exchange.close();
+		}
+	}
+
+	// Solves a request's puzzles in order on the calling worker's searcher
+	private String solveBatch(String[] algorithm, int nodeLimit, List<String> puzzles){
+		InformedSearches searcher = this.searchers.get();
+		searcher.setMaxNodes(nodeLimit);
+		StringBuilder results = new StringBuilder();
+		for(String puzzle : puzzles){
+			results.append(BatchSolver.solveLine(searcher, algorithm, puzzle)).append('\n');
+		}
+		return results.toString();
+	}
+
+	// Splits a raw query string into its decoded parameters
+	private static Map<String, String> parseQuery(String rawQuery){
+		Map<String, String> query = new HashMap<String, String>();
+		if(rawQuery == null)
+			return query;
+		for(String pair : rawQuery.split("&")){
+			int equals = pair.indexOf('=');
+			if(equals > 0)
+				query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8).toLowerCase(),
+						URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+		}
+		return query;
+	}
+
+	// Sends a plain text response
+	private static void reply(HttpExchange exchange, int status, String body) throws IOException{
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try(OutputStream out = exchange.getResponseBody()){
+			out.write(bytes);
+		}
+	}
+}
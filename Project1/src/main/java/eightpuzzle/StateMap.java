@@ -0,0 +1,102 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a hash map from packed boards to StateNodes.
+ * It uses open addressing over primitive long keys, so lookups never box a key or follow a chain*/
+package eightpuzzle;
+import java.util.Arrays;
+public class StateMap {
+	private long[] keys;
+	private StateNode[] values;		// a null value marks an empty slot
+	private int size = 0;
+	private int mask;
+
+	// 0-arg constructor to initialize an empty StateMap
+	public StateMap(){
+		this(1024);
+	}
+
+	// 1-arg constructor to initialize an empty StateMap sized for the expected number of states
+	public StateMap(int expectedSize){
+		int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+		this.keys = new long[capacity];
+		this.values = new StateNode[capacity];
+		this.mask = capacity - 1;
+	}
+
+	// Returns the node stored for the board, or null if there is none
+	public StateNode get(long board){
+		int slot = hash(board) & this.mask;
+		while(this.values[slot] != null){
+			if(this.keys[slot] == board)
+				return this.values[slot];
+			slot = (slot + 1) & this.mask;
+		}
+		return null;
+	}
+
+	// Returns whether a node is stored for the board
+	public boolean containsKey(long board){
+		return this.get(board) != null;
+	}
+
+	// Stores the node for the board, returning the node it replaced or null
+	public StateNode put(long board, StateNode node){
+		int slot = hash(board) & this.mask;
+		while(this.values[slot] != null){
+			if(this.keys[slot] == board){
+				StateNode previous = this.values[slot];
+				this.values[slot] = node;
+				return previous;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.keys[slot] = board;
+		this.values[slot] = node;
+		// keep the table at most half full so probe sequences stay short
+		if(++this.size * 2 > this.keys.length)
+			this.resize();
+		return null;
+	}
+
+	// Removes every node from the map
+	public void clear(){
+		if(this.size > 0){
+			Arrays.fill(this.values, null);
+			this.size = 0;
+		}
+	}
+
+	public int size(){
+		return this.size;
+	}
+
+	// Doubles the table and reinserts every node
+	private void resize(){
+		long[] oldKeys = this.keys;
+		StateNode[] oldValues = this.values;
+		this.keys = new long[oldKeys.length * 2];
+		this.values = new StateNode[oldValues.length * 2];
+		this.mask = this.keys.length - 1;
+		for(int i = 0; i < oldKeys.length; i++){
+			if(oldValues[i] != null){
+				int slot = hash(oldKeys[i]) & this.mask;
+				while(this.values[slot] != null){
+					slot = (slot + 1) & this.mask;
+				}
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	// Mixes every bit of the board into the low bits used to pick a slot
+	static int hash(long board){
+		board ^= board >>> 33;
+		board *= 0xff51afd7ed558ccdL;
+		board ^= board >>> 33;
+		board *= 0xc4ceb9fe1a85ec53L;
+		board ^= board >>> 33;
+		return (int)board;
+	}
+}
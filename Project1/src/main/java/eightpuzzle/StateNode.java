@@ -0,0 +1,171 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents a StateNode and its available functions*/
+package eightpuzzle;
+public class StateNode {
+	private long state;
+	private int heuristicCost;
+	private int actualCost;
+	private int totalCost;
+	private StateNode parent;		// node this one was generated from, null for the root
+	private byte lastMove;			// move code that produced this node from its parent
+	private int heapIndex = -1;		// slot in an IndexedOpenList heap, -1 when it is not in one
+	
+	// 3-arg constructor to initialize a root StateNode with no parent
+	public StateNode(long state, int heuristicCost, int actualCost){
+		this(state, heuristicCost, actualCost, null, -1);
+	}
+	
+	// 5-arg constructor to initialize the StateNode and its associated values
+	public StateNode(long state, int heuristicCost, int actualCost, StateNode parent, int lastMove){
+		this.state = state;
+		this.heuristicCost = heuristicCost;
+		this.actualCost = actualCost;
+		this.setTotalCost(this.getHeuristicCost() + this.getActualCost());
+		this.parent = parent;
+		this.lastMove = (byte)lastMove;
+	}
+	
+	// Sets the state to desired state, if it is a valid state, and returns whether it was
+	public boolean setState(String state){
+		state = state.replace(" ", "");
+		String error = stateError(state);
+		if(error != null){
+			System.out.println("Invalid input: " + error + "\n");
+			return false;
+		}
+		this.buildPuzzle(state);
+		return true;
+	}
+	
+	// Prints the layout of the puzzle state to the console
+	public void printState(){
+		System.out.println("Current State:");
+		for(int i = 0; i < PackedBoard.SIZE; i++){
+			System.out.print("|");
+			for (int j = 0; j < PackedBoard.SIZE; j++){
+				int tile = PackedBoard.tileAt(this.state, i * PackedBoard.SIZE + j);
+				if(tile == 0)
+					System.out.print("b|");
+				else
+					System.out.print(tile + "|");
+			}
+			System.out.print("\n");
+		}
+		System.out.println("\n");
+	}
+	
+	// Moves the blank tile in the give direction, returning PackedBoard.INVALID if it is not a valid move
+	public long move(String direction){
+		int move = PackedBoard.moveCode(direction);
+		if(move < 0){
+			return PackedBoard.INVALID;
+		}
+		return PackedBoard.move(this.state, move);
+	}
+	
+	// Returns why the incoming state, without spaces, is not a legal assignment, or null if it is
+	static String stateError(String state){
+		
+		if(state.length() != 9)
+			return "Please only choose 9 values for the state!";
+		
+		for (int i = 0; i < state.length(); i++){
+			if ((Character.getNumericValue(state.charAt(i)) < 1 || Character.getNumericValue(state.charAt(i)) > 8) && state.charAt(i) != 'b')
+				return "Please only use numbers 1,8 and 'b'!";
+			
+			else if(state.indexOf(state.charAt(i)) != state.lastIndexOf(state.charAt(i)))
+				return "Please only use each entry once!";
+		}
+		// reject boards with the wrong inversion parity here rather than letting a search exhaust its budget on them
+		if(!PackedBoard.isSolvable(PackedBoard.fromString(state)))
+			return "This state cannot reach the goal state!";
+		return null;
+		
+	}
+	
+	// Packs the incoming state into the board
+	public void buildPuzzle(String state){
+		this.state = PackedBoard.fromString(state);
+	}
+	
+	@Override
+	// Overridden equals method to compare the puzzle states 
+	public boolean equals(Object obj){
+		return this.state == ((StateNode)obj).state;
+	}
+	
+	@Override 
+	public int hashCode(){
+		return Long.hashCode(this.state);
+	}
+	
+
+
+	public long getState() {
+		return this.state;
+	}
+
+	public void setState(long state) {
+		this.state = state;
+	}
+
+	public int getHeuristicCost() {
+		return this.heuristicCost;
+	}
+
+	public void setHeuristicCost(int heuristicCost) {
+		this.heuristicCost = heuristicCost;
+	}
+	
+	public int getActualCost(){
+		return this.actualCost;
+	}
+	
+	public void setActualCost(int actualCost){
+		this.actualCost = actualCost;
+	}
+	
+	public int getTotalCost() {
+		return this.totalCost;
+	}
+
+	public void setTotalCost(int totalCost) {
+		this.totalCost = totalCost;
+	}
+
+	// Rebuilds the moves from the root to this node by following the parent references
+	public byte[] getMoves() {
+		int length = 0;
+		for(StateNode node = this; node.parent != null; node = node.parent){
+			length++;
+		}
+		byte[] moves = new byte[length];
+		for(StateNode node = this; node.parent != null; node = node.parent){
+			moves[--length] = node.lastMove;
+		}
+		return moves;
+	}
+
+	// Returns the moves from the root to this node in text form
+	public String getPath() {
+		return PackedBoard.toPath(this.getMoves());
+	}
+
+	public StateNode getParent() {
+		return this.parent;
+	}
+
+	public int getLastMove() {
+		return this.lastMove;
+	}
+
+	public int getHeapIndex() {
+		return this.heapIndex;
+	}
+
+	public void setHeapIndex(int heapIndex) {
+		this.heapIndex = heapIndex;
+	}
+}
@@ -2,17 +2,18 @@
  * EECS 391
  * Project 1
  * This class represents a comparator for StateNodes*/
+package eightpuzzle;
 import java.util.*;
 public class StateNodeComparator implements Comparator<StateNode> {
 	
-	//Compares the TotalCost of two StateNodes
+	//Compares the TotalCost of two StateNodes, breaking ties in favor of the deeper node
 	public int compare(StateNode node1, StateNode node2){
 		if (node1.getTotalCost() < node2.getTotalCost())
 			return -1;
-		else if(node1.getTotalCost() == node2.getTotalCost())
-			return 0;
-		else
+		else if(node1.getTotalCost() > node2.getTotalCost())
 			return 1;
+		else
+			return Integer.compare(node2.getActualCost(), node1.getActualCost());
 	}
 	
 	//Returns whether or not two Comparators are equal
@@ -0,0 +1,59 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the tests of HDA*: on every thread count up to the number of cores it must find a path as
+ * short as the distance table's, and it must stop once no work is left or the node limit is hit*/
+package eightpuzzle;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+// a termination bug leaves the workers waiting forever rather than failing, so every test is cut off
+@Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class ParallelAStarSearchTest {
+	private static final SlidingBoard BOARD = SlidingBoard.ofSize(PackedBoard.SIZE);
+	private static final int INSTANCES = 60;
+
+	@Test
+	public void findsOptimalPathsOnEveryThreadCount(){
+		int cores = Runtime.getRuntime().availableProcessors();
+		for(int threads = 1; threads <= cores; threads++){
+			// the same seeded instances on every thread count
+			Random moveGenerator = new Random(13);
+			for(int i = 0; i < INSTANCES; i++){
+				long board = i == 0 ? PackedBoard.GOAL : PackedBoard.scramble(PackedBoard.GOAL, 200, moveGenerator);
+				ParallelAStarSearch search = new ParallelAStarSearch(BOARD, threads, 10000000);
+				search.printToConsole = false;
+				assertTrue(search.search(BOARD.pack(PackedBoard.toTiles(board))), "instance " + i + " on " + threads + " threads");
+				assertEquals(DistanceTable.getInstance().distance(board), search.getPathLength(), "instance " + i + " on " + threads + " threads");
+				for(byte move : search.getSolutionMoves()){
+					board = PackedBoard.move(board, move);
+				}
+				assertEquals(PackedBoard.GOAL, board);
+			}
+		}
+	}
+
+	@Test
+	public void stopsAtTheNodeLimit(){
+		ParallelAStarSearch search = new ParallelAStarSearch(BOARD, Runtime.getRuntime().availableProcessors(), 100);
+		search.printToConsole = false;
+		assertFalse(search.search(BOARD.pack(PackedBoard.toTiles(PackedBoard.fromString("8672543b1")))));
+	}
+
+	@Test
+	public void refusesUnsolvableStates(){
+		ParallelAStarSearch search = new ParallelAStarSearch(BOARD, 1, 10000000);
+		search.printToConsole = false;
+		assertFalse(search.search(BOARD.pack(PackedBoard.toTiles(PackedBoard.fromString("b21345678")))));
+		assertEquals(0, search.getNodesExplored());
+	}
+
+	@Test
+	public void neverRunsMoreThreadsThanCores(){
+		int cores = Runtime.getRuntime().availableProcessors();
+		assertNull(InformedSearches.algorithmError(new String[]{"hda", Integer.toString(cores)}));
+		assertNotNull(InformedSearches.algorithmError(new String[]{"hda", Integer.toString(cores + 1)}));
+		assertNotNull(InformedSearches.algorithmError(new String[]{"hda", "0"}));
+	}
+}
@@ -0,0 +1,101 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the tests of the solution cache: it never holds more entries than its capacity, and any path
+ * it returns is an optimal path to the goal, even while many threads add and evict at once*/
+package eightpuzzle;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+// a race in the probe or eviction loops forever rather than failing, so every test is cut off
+@Timeout(value = 20, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class SolutionCacheTest {
+	private static final int THREADS = 4;
+	private static final int OPERATIONS = 20000;
+
+	@Test
+	public void returnsOptimalPathsWhileThreadsAddAndEvict() throws Exception{
+		// far fewer entries than the paths added, so the clock evicts all the time
+		SolutionCache cache = new SolutionCache(500);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try{
+			List<Future<Integer>> hits = new ArrayList<Future<Integer>>();
+			for(int t = 0; t < THREADS; t++){
+				final long seed = t;
+				hits.add(pool.submit(() -> addAndCheck(cache, new Random(seed))));
+			}
+			int totalHits = 0;
+			for(Future<Integer> threadHits : hits){
+				totalHits += threadHits.get();
+			}
+			assertTrue(totalHits > 0, "some lookups should find a cached path");
+			assertTrue(cache.size() <= 500);
+			assertEquals(totalHits, cache.getHits());
+		}
+		finally{
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void keepsToItsCapacity(){
+		SolutionCache cache = new SolutionCache(50);
+		Random moveGenerator = new Random(7);
+		for(int i = 0; i < 200; i++){
+			long board = PackedBoard.scramble(PackedBoard.GOAL, 40, moveGenerator);
+			cache.addPath(board, DistanceTable.getInstance().solve(board));
+			assertTrue(cache.size() <= 50);
+		}
+		assertEquals(50, cache.size());
+
+		cache.setCapacity(20);
+		assertEquals(20, cache.size());
+		cache.setCapacity(0);
+		assertFalse(cache.isEnabled());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void followsACachedPathToTheGoal(){
+		SolutionCache cache = new SolutionCache(100);
+		long board = PackedBoard.fromString("8672543b1");
+		byte[] moves = DistanceTable.getInstance().solve(board);
+		assertNull(cache.path(board));
+		cache.addPath(board, moves);
+		assertArrayEquals(moves, cache.path(board));
+		// every later state on the path was cached too
+		long next = PackedBoard.move(board, moves[0]);
+		assertEquals(moves.length - 1, cache.path(next).length);
+		assertArrayEquals(new byte[0], cache.path(PackedBoard.GOAL));
+	}
+
+	// Adds optimal paths and looks up boards from them, checking every path the cache returns; returns the hits
+	private static int addAndCheck(SolutionCache cache, Random moveGenerator){
+		int hits = 0;
+		List<Long> added = new ArrayList<Long>();
+		for(int i = 0; i < OPERATIONS; i++){
+			long board;
+			if(added.isEmpty() || moveGenerator.nextInt(4) == 0){
+				board = PackedBoard.scramble(PackedBoard.GOAL, 60, moveGenerator);
+				cache.addPath(board, DistanceTable.getInstance().solve(board));
+				added.add(board);
+			}
+			else
+				board = added.get(moveGenerator.nextInt(added.size()));
+			byte[] moves = cache.path(board);
+			if(moves == null)
+				continue;
+			hits++;
+			assertEquals(DistanceTable.getInstance().distance(board), moves.length);
+			for(byte move : moves){
+				board = PackedBoard.move(board, move);
+			}
+			assertEquals(PackedBoard.GOAL, board);
+		}
+		return hits;
+	}
+}
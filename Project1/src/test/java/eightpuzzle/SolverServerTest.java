@@ -0,0 +1,107 @@
+/**@author Austin Feydt
+ * EECS 391
+ * Project 1
+ * This class represents the tests of the solver server's backpressure: a full worker queue is answered with 503 and
+ * a body over MAX_BODY_BYTES with 413, both before the request body is read*/
+package eightpuzzle;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.*;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+public class SolverServerTest {
+	// a hard puzzle that keeps a worker busy for a while when solved many times over with A-star h1
+	private static final String HARD_PUZZLE = "867 254 3b1";
+	private static final int HARD_COPIES = 50;
+
+	private SolverServer server;
+	private HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeEach
+	public void startServer() throws IOException{
+		// one worker and room for one queued request, on any free port
+		this.server = new SolverServer(0, 1, 1, 10000000);
+		this.server.start();
+	}
+
+	@AfterEach
+	public void stopServer(){
+		this.server.stop();
+	}
+
+	@Test
+	public void answersBusyOnceTheQueueIsFull() throws Exception{
+		long searchesBefore = SearchStats.getInstance().getSearches();
+		CompletableFuture<HttpResponse<String>> running = this.client.sendAsync(this.hardBatch(), HttpResponse.BodyHandlers.ofString());
+		// the first batch goes straight to the idle worker, which is partway through it once its first search is counted
+		while(SearchStats.getInstance().getSearches() == searchesBefore){
+			Thread.sleep(5);
+		}
+		CompletableFuture<HttpResponse<String>> queued = this.client.sendAsync(this.hardBatch(), HttpResponse.BodyHandlers.ofString());
+		while(!this.get("/stats").body().contains("queuedRequests\t1\n")){
+			Thread.sleep(5);
+		}
+
+		HttpResponse<String> busy = this.get("/solve?puzzle=1b2+345+678&search=a-star+h2");
+		assertEquals(503, busy.statusCode());
+		assertEquals("1", busy.headers().firstValue("Retry-After").orElse(null));
+
+		// the accepted batches are still solved in full
+		for(CompletableFuture<HttpResponse<String>> accepted : List.of(running, queued)){
+			HttpResponse<String> response = accepted.get();
+			assertEquals(200, response.statusCode());
+			assertEquals(HARD_COPIES, response.body().split("\n").length);
+			assertTrue(response.body().startsWith(HARD_PUZZLE + "\t27\t"));
+		}
+		assertEquals(200, this.get("/solve?puzzle=1b2+345+678&search=a-star+h2").statusCode());
+	}
+
+	@Test
+	public void refusesBodiesOverTheLimit() throws Exception{
+		// the length is refused from the header alone, so no body needs to be sent
+		try(Socket socket = new Socket("localhost", this.server.getPort())){
+			OutputStream out = socket.getOutputStream();
+			out.write(("POST /solve?search=a-star+h2 HTTP/1.1\r\nHost: localhost\r\nContent-Length: " + (SolverServer.MAX_BODY_BYTES + 1) +
+					"\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			assertEquals("HTTP/1.1 413 Request Entity Too Large", in.readLine());
+		}
+	}
+
+	@Test
+	public void solvesBodiesAtTheLimit() throws Exception{
+		// pad a single puzzle with blank lines up to exactly the limit
+		StringBuilder body = new StringBuilder("1b2 345 678\n");
+		while(body.length() < SolverServer.MAX_BODY_BYTES){
+			body.append('\n');
+		}
+		HttpRequest request = HttpRequest.newBuilder(this.uri("/solve?search=a-star+h2"))
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+		HttpResponse<String> response = this.client.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().startsWith("1b2 345 678\t1\tleft\t"));
+	}
+
+	// Builds a POST of the hard puzzle many times over
+	private HttpRequest hardBatch(){
+		String body = (HARD_PUZZLE + "\n").repeat(HARD_COPIES);
+		return HttpRequest.newBuilder(this.uri("/solve?search=a-star+h1")).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+	}
+
+	private HttpResponse<String> get(String path) throws IOException, InterruptedException{
+		return this.client.send(HttpRequest.newBuilder(this.uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private URI uri(String path){
+		return URI.create("http://localhost:" + this.server.getPort() + path);
+	}
+}